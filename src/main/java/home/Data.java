@@ -35,8 +35,8 @@ final class Data {
         ThreadUtils.runInThread(() -> {
             Thread.currentThread().setName("-> read data from DB");
             try {
-                DbInitializer.createTableIfNotExists();
-                DataActionInGui.init(DaoSQLite.getInstance().readAll());
+                DbInitializer.migrate();
+                DataActionInGui.initFromDb(DaoSQLite.getInstance());
             } catch (SQLException e) {
                 String errorMsg = "Error while read data from DB: " + e.getMessage();
                 LogUtils.logAndShowError(LOG, null, errorMsg, "Data reading error", e);
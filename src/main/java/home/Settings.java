@@ -14,7 +14,11 @@ public final class Settings {
     public enum Setting {
 
         STYLE("style", ColorSchema.CROSSPLATFORM.name().toLowerCase(Locale.ROOT)),
-        DB_FILE_PATH("db_file_path", IConsts.EMPTY_STRING);
+        DB_FILE_PATH("db_file_path", IConsts.EMPTY_STRING),
+        // safe, balanced or bulk-load (see home.db.SQLiteProfile)
+        SQLITE_PROFILE("sqlite_profile", "safe"),
+        // objects or columnar (see home.storage.StorageMode)
+        STORAGE_MODE("storage_mode", "objects");
 
         private final String name;
         private final String defaultValue;
@@ -44,6 +48,14 @@ public final class Settings {
         return get(Setting.DB_FILE_PATH);
     }
 
+    public static String getSqliteProfile() {
+        return get(Setting.SQLITE_PROFILE);
+    }
+
+    public static String getStorageMode() {
+        return get(Setting.STORAGE_MODE);
+    }
+
     private static String get(Setting setting) {
         return SETTINGS.getProperty(setting.getName());
     }
@@ -89,6 +101,8 @@ public final class Settings {
         try (var outputStream = new FileOutputStream(SETTINGS_FILE_NAME)) {
             SETTINGS.setProperty(Setting.STYLE.getName(), Setting.STYLE.getDefaultValue());
             SETTINGS.setProperty(Setting.DB_FILE_PATH.getName(), Setting.DB_FILE_PATH.getDefaultValue());
+            SETTINGS.setProperty(Setting.SQLITE_PROFILE.getName(), Setting.SQLITE_PROFILE.getDefaultValue());
+            SETTINGS.setProperty(Setting.STORAGE_MODE.getName(), Setting.STORAGE_MODE.getDefaultValue());
             SETTINGS.store(outputStream, null);
         } catch (IOException e) {
             throw new IllegalStateException("Error while fill default settings: " + SETTINGS_FILE_NAME, e);
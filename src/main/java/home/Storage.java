@@ -1,11 +1,40 @@
 package home;
 
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import home.models.AbstractVehicle;
+import home.models.IVehicleRow;
+import home.models.VehicleType;
+import home.storage.ColumnarVehicleStore;
+import home.storage.FacetIndex;
+import home.storage.IDataObjsReader;
+import home.storage.IRowIndex;
+import home.storage.IStorageListener;
+import home.storage.IntList;
+import home.storage.LongHashMap;
+import home.storage.LongHashSet;
+import home.storage.NumberIndex;
+import home.storage.NumberPrefixIndex;
+import home.storage.NumberTrigramIndex;
+import home.storage.PagedVehicleList;
+import home.storage.StorageChanges;
+import home.storage.StorageEvent;
+import home.storage.TemporalIndex;
+import home.storage.TimeBucket;
+import home.storage.VehicleQuery;
+import home.storage.VehicleStatistics;
+import home.storage.VehicleStore;
 
 public enum Storage {
 
@@ -13,53 +42,656 @@ public enum Storage {
 
     public static final int NO_ROW_IS_SELECTED = -1;
 
-    private final List<AbstractVehicle> dataObjsStorage = new LinkedList<>();
-    private final Set<Long> dataObjIdsForDel = new HashSet<>();
-    private final Set<Long> dataObjIdsForUpdate = new HashSet<>();
+    // more deleted ranges are reported as one change of all rows
+    private static final int MAX_DELETED_RANGES_EVENTS = 64;
+
+    // lock of the rows and the changes, the changes are copied by the save in other thread
+    private final Object lock = new Object();
+    // replaced by the initialization (under the lock)
+    private volatile Rows rows = new Rows();
+    private final LongHashSet dataObjIdsForDel = new LongHashSet();
+    // the updated data objects by id (not boxed), they are saved as is, without search in all rows
+    private final LongHashMap<AbstractVehicle> dataObjsForUpdate = new LongHashMap<>();
+    // new data objects have no id yet, so they are tracked by themselves
+    private final List<AbstractVehicle> dataObjsForInsert = new ArrayList<>();
+    // new data objects replaced (old -> new) while the changes are saved,
+    // so the saved new data object is followed to its current version
+    private final Map<AbstractVehicle, AbstractVehicle> replacedDataObjsForInsert = new IdentityHashMap<>();
+    // changes, which are saved now, null if the storage is initialized again
+    private StorageChanges changesInSave;
+
+    private final List<IStorageListener> listeners = new CopyOnWriteArrayList<>();
+
+    // rows of the table in the read-only modes (null otherwise): the rows of the DB, which are read by pages
+    // in the windowed mode, or the rows of the columnar mode
+    private volatile List<? extends IVehicleRow> readOnlyRows;
+
+    public void addListener(IStorageListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(IStorageListener listener) {
+        listeners.remove(listener);
+    }
 
     public void initDataObjs(List<AbstractVehicle> dataObjs) {
-        dataObjIdsForDel.clear();
-        dataObjIdsForUpdate.clear();
-        dataObjsStorage.clear();
-        dataObjsStorage.addAll(dataObjs);
+        initDataObjs(dataObjs.size(), dataObjs::forEach);
+    }
+
+    /**
+     * Initializes the storage by the data objects of the reader as they are read.
+     * The storage is empty if the reading is failed.
+     */
+    public <E extends Exception> void initDataObjs(IDataObjsReader<E> reader) throws E {
+        initDataObjs(0, reader);
+    }
+
+    /**
+     * The data objects are read and indexed without the lock, so the storage can be used while they are read.
+     * The read rows replace the current ones under the lock.
+     */
+    private <E extends Exception> void initDataObjs(int expectedSize, IDataObjsReader<E> reader) throws E {
+        var newRows = new Rows();
+        newRows.dataObjs.ensureCapacity(expectedSize);
+        var newDataObjsForInsert = new ArrayList<AbstractVehicle>();
+
+        boolean isRead = false;
+        try {
+            reader.read(dataObj -> {
+                newRows.dataObjs.add(dataObj);
+                if (dataObj.getId() == 0) {
+                    newDataObjsForInsert.add(dataObj);
+                }
+                newRows.statistics.add(dataObj);
+            });
+            newRows.rebuildIndexes();
+            isRead = true;
+        } finally {
+            // the storage is empty if the reading is failed
+            replaceRows(isRead ? newRows : new Rows(), isRead ? newDataObjsForInsert : List.of(), null);
+        }
+    }
+
+    private void replaceRows(Rows newRows, List<AbstractVehicle> newDataObjsForInsert,
+            List<? extends IVehicleRow> newReadOnlyRows) {
+        synchronized (lock) {
+            readOnlyRows = newReadOnlyRows;
+            rows = newRows;
+            dataObjIdsForDel.clear();
+            dataObjsForUpdate.clear();
+            dataObjsForInsert.clear();
+            dataObjsForInsert.addAll(newDataObjsForInsert);
+            replacedDataObjsForInsert.clear();
+            changesInSave = null;
+        }
+        fireEvent(StorageEvent.dataChanged());
+    }
+
+    /**
+     * Windowed mode: the table shows the rows of the window (they are read on access),
+     * the storage is empty and read-only, so indexes and statistics are empty too.
+     */
+    public void initWindow(PagedVehicleList window) {
+        replaceRows(new Rows(), List.of(), window);
+    }
+
+    /**
+     * Columnar mode: the rows of the reader are kept in the columnar storage (primitive columns
+     * instead of data objects), the table shows them as row views. The storage is read-only,
+     * only the statistics are maintained, the indexes are empty (they would take more memory
+     * than the rows). The storage is empty if the reading is failed.
+     */
+    public <E extends Exception> void initColumnar(int expectedSize, IDataObjsReader<E> reader) throws E {
+        var columnarRows = new ColumnarVehicleStore(expectedSize);
+        var newRows = new Rows();
+
+        boolean isRead = false;
+        try {
+            reader.read(dataObj -> {
+                columnarRows.add(dataObj);
+                newRows.statistics.add(dataObj);
+            });
+            isRead = true;
+        } finally {
+            replaceRows(isRead ? newRows : new Rows(), List.of(), isRead ? columnarRows : null);
+        }
+    }
+
+    public boolean isWindowed() {
+        return readOnlyRows instanceof PagedVehicleList;
+    }
+
+    /**
+     * @return true in the windowed and columnar modes: the data objects can't be changed.
+     */
+    public boolean isReadOnly() {
+        return readOnlyRows != null;
+    }
+
+    /**
+     * @return rows of the table: the window or the columnar rows in the read-only modes,
+     *         all data objects otherwise.
+     */
+    public List<? extends IVehicleRow> getTableRows() {
+        List<? extends IVehicleRow> currentReadOnlyRows = readOnlyRows;
+        return currentReadOnlyRows == null ? rows.dataObjs : currentReadOnlyRows;
     }
 
     public void addDataObjs(List<AbstractVehicle> dataObjs) {
-        dataObjsStorage.addAll(dataObjs);
+        checkNotReadOnly();
+        if (dataObjs.isEmpty()) {
+            return;
+        }
+
+        int firstRow;
+        int row;
+        synchronized (lock) {
+            firstRow = rows.dataObjs.size();
+            row = firstRow;
+            rows.dataObjs.addAll(dataObjs);
+            dataObjsForInsert.addAll(dataObjs);
+            for (AbstractVehicle dataObj : dataObjs) {
+                // added (imported) data objects are new for the DB, even if they have id from other DB
+                dataObj.setId(0);
+                rows.addToIndexes(row++, dataObj);
+                rows.statistics.add(dataObj);
+            }
+        }
+        fireEvent(new StorageEvent(StorageEvent.Type.INSERTED, firstRow, row - 1));
     }
 
     public List<AbstractVehicle> getAll() {
-        return dataObjsStorage;
+        return rows.dataObjs;
     }
 
-    public AbstractVehicle get(int row) {
-        return dataObjsStorage.get(row);
+    /**
+     * @return immutable version of all data objects, O(1). It is used by long readers
+     *         (export) in other threads, while the data objects can be edited.
+     *         In the columnar mode the data objects are created on access.
+     */
+    public List<AbstractVehicle> getSnapshot() {
+        if (readOnlyRows instanceof ColumnarVehicleStore columnarRows) {
+            return columnarRows.asDataObjs();
+        }
+        checkNotReadOnly();
+        // the rows have gaps only under the lock, while they are deleted
+        synchronized (lock) {
+            return rows.dataObjs.snapshot();
+        }
+    }
+
+    /**
+     * @return immutable version of all rows for long readers (save as): the columnar rows
+     *         in the columnar mode (they are not changed), the snapshot of the data objects otherwise.
+     */
+    public List<? extends IVehicleRow> getRowsSnapshot() {
+        List<? extends IVehicleRow> currentReadOnlyRows = readOnlyRows;
+        return currentReadOnlyRows instanceof ColumnarVehicleStore ? currentReadOnlyRows : getSnapshot();
     }
 
-    public Long[] getIdsForDel() {
-        return dataObjIdsForDel.stream().map(id -> Long.valueOf(id)).toArray(Long[]::new);
+    public AbstractVehicle get(int row) {
+        return rows.dataObjs.get(row);
     }
 
-    public Set<Long> getIdsForUpdate() {
-        return dataObjIdsForUpdate;
+    /**
+     * @return copy of the changes, which are not saved yet. The changes are copied
+     *         under the lock, so they are consistent, even if they are changed in other thread.
+     */
+    public StorageChanges getChanges() {
+        synchronized (lock) {
+            replacedDataObjsForInsert.clear();
+            var changes = new StorageChanges(dataObjIdsForDel.toArray(),
+                    dataObjsForUpdate.values(), dataObjsForInsert);
+            // empty changes are not saved, so nothing is followed
+            changesInSave = changes.size() > 0 ? changes : null;
+            return changes;
+        }
     }
 
     public void updateDataObj(AbstractVehicle dataObj, int tblRowOfSelectedDataObj) {
+        checkNotReadOnly();
         if (NO_ROW_IS_SELECTED == tblRowOfSelectedDataObj) {
-            dataObjsStorage.add(dataObj);
+            int row;
+            synchronized (lock) {
+                rows.dataObjs.add(dataObj);
+                dataObjsForInsert.add(dataObj);
+                row = rows.dataObjs.size() - 1;
+                rows.addToIndexes(row, dataObj);
+                rows.statistics.add(dataObj);
+            }
+            fireEvent(new StorageEvent(StorageEvent.Type.INSERTED, row, row));
         } else {
-            dataObjsStorage.set(tblRowOfSelectedDataObj, dataObj);
-            dataObjIdsForUpdate.add(dataObj.getId());
+            synchronized (lock) {
+                AbstractVehicle oldDataObj = rows.dataObjs.set(tblRowOfSelectedDataObj, dataObj);
+                for (IRowIndex index : rows.indexes) {
+                    index.update(tblRowOfSelectedDataObj, oldDataObj, dataObj);
+                }
+                rows.statistics.update(oldDataObj, dataObj);
+
+                if (dataObj.getId() == 0 && oldDataObj.getId() > 0) {
+                    // the new data object is saved while it is edited
+                    dataObj.setId(oldDataObj.getId());
+                }
+                if (dataObj.getId() > 0) {
+                    dataObjsForUpdate.put(dataObj.getId(), dataObj);
+                } else {
+                    replaceDataObjForInsert(oldDataObj, dataObj);
+                }
+            }
+            fireEvent(new StorageEvent(StorageEvent.Type.UPDATED,
+                    tblRowOfSelectedDataObj, tblRowOfSelectedDataObj));
+        }
+    }
+
+    /**
+     * Called after the changes are saved to the DB: the saved changes are removed from the changes
+     * of the storage, the new data objects get their ids, changed fields of the saved data objects
+     * are reset. The data objects changed during the save stay in the changes. The saved data objects
+     * are replaced by the copies, because they can be used by a snapshot.
+     *
+     * @param savedChanges changes from {@link #getChanges()}, which are saved
+     * @param idsOfNewDataObjs ids in order of the saved new data objects
+     */
+    public void markChangesSaved(StorageChanges savedChanges, long[] idsOfNewDataObjs) {
+        synchronized (lock) {
+            if (savedChanges != changesInSave) {
+                // the storage is initialized by other data objects during the save
+                return;
+            }
+            changesInSave = null;
+
+            for (long id : savedChanges.idsForDel()) {
+                dataObjIdsForDel.remove(id);
+            }
+
+            for (AbstractVehicle dataObj : savedChanges.dataObjsForUpdate()) {
+                // otherwise the data object is changed or deleted during the save
+                if (dataObjsForUpdate.get(dataObj.getId()) == dataObj) {
+                    dataObjsForUpdate.remove(dataObj.getId());
+                    AbstractVehicle savedDataObj = dataObj.copy();
+                    savedDataObj.resetChangedFields();
+                    replaceDataObj(dataObj, savedDataObj);
+                }
+            }
+
+            Set<AbstractVehicle> newDataObjs = Collections.newSetFromMap(new IdentityHashMap<>());
+            newDataObjs.addAll(dataObjsForInsert);
+            Set<AbstractVehicle> insertedDataObjs = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<AbstractVehicle> savedNewDataObjs = savedChanges.dataObjsForInsert();
+            for (int i = 0; i < savedNewDataObjs.size(); i++) {
+                AbstractVehicle savedNewDataObj = savedNewDataObjs.get(i);
+                AbstractVehicle dataObj = savedNewDataObj;
+                while (replacedDataObjsForInsert.containsKey(dataObj)) {
+                    dataObj = replacedDataObjsForInsert.get(dataObj);
+                }
+
+                long newId = idsOfNewDataObjs[i];
+                if (!newDataObjs.contains(dataObj)) {
+                    // it is deleted during the save, but it is in the DB already
+                    dataObjIdsForDel.add(newId);
+                    continue;
+                }
+
+                insertedDataObjs.add(dataObj);
+                AbstractVehicle savedDataObj = dataObj.copy();
+                savedDataObj.setId(newId);
+                if (dataObj == savedNewDataObj) {
+                    savedDataObj.resetChangedFields();
+                } else {
+                    // it is changed during the save, so it is updated by the next save
+                    dataObjsForUpdate.put(newId, savedDataObj);
+                }
+                replaceDataObj(dataObj, savedDataObj);
+            }
+            if (!insertedDataObjs.isEmpty()) {
+                dataObjsForInsert.removeIf(insertedDataObjs::contains);
+            }
+            replacedDataObjsForInsert.clear();
+        }
+        fireEvent(StorageEvent.dataChanged());
+    }
+
+    /**
+     * Called if the changes are not saved to the DB: the changes of the storage stay as they are,
+     * the data objects changed during the save are not followed any more.
+     *
+     * @param changes changes from {@link #getChanges()}, which are not saved
+     */
+    public void saveFailed(StorageChanges changes) {
+        synchronized (lock) {
+            if (changes == changesInSave) {
+                changesInSave = null;
+                replacedDataObjsForInsert.clear();
+            }
+        }
+    }
+
+    /**
+     * Replaces the data object by its saved version, the row is found by the number index.
+     */
+    private void replaceDataObj(AbstractVehicle dataObj, AbstractVehicle savedDataObj) {
+        int row = findRow(dataObj);
+        if (row == NO_ROW_IS_SELECTED) {
+            return;
+        }
+
+        rows.dataObjs.set(row, savedDataObj);
+        for (IRowIndex index : rows.indexes) {
+            index.update(row, dataObj, savedDataObj);
         }
     }
 
-    public void deleteDataObjs(List<AbstractVehicle> objsMarkedForDel) {
-        for (AbstractVehicle objForDel : objsMarkedForDel) {
-            long idObjForDel = objForDel.getId();
-            if (idObjForDel > 0) {
-                dataObjIdsForDel.add(idObjForDel);
+    private int findRow(AbstractVehicle dataObj) {
+        if (dataObj.getNumber() != null) {
+            for (int row : rows.numberIndex.find(dataObj.getNumber())) {
+                if (rows.dataObjs.get(row) == dataObj) {
+                    return row;
+                }
+            }
+            return NO_ROW_IS_SELECTED;
+        }
+
+        // data objects without number are not in the number index
+        for (int row = 0; row < rows.dataObjs.size(); row++) {
+            if (rows.dataObjs.get(row) == dataObj) {
+                return row;
+            }
+        }
+        return NO_ROW_IS_SELECTED;
+    }
+
+    /**
+     * The data object is not changed in place, because it can be used by a snapshot.
+     */
+    public void setMarkedForDelete(int row, boolean isMarkedForDelete) {
+        checkNotReadOnly();
+        // the data object can be replaced by its saved version in other thread
+        synchronized (lock) {
+            AbstractVehicle oldDataObj = rows.dataObjs.get(row);
+            if (oldDataObj.isMarkedForDelete() == isMarkedForDelete) {
+                return;
+            }
+
+            AbstractVehicle dataObj = oldDataObj.copy();
+            dataObj.setMarkedForDelete(isMarkedForDelete);
+            rows.dataObjs.set(row, dataObj);
+            for (IRowIndex index : rows.indexes) {
+                index.update(row, oldDataObj, dataObj);
+            }
+            if (dataObj.getId() == 0) {
+                replaceDataObjForInsert(oldDataObj, dataObj);
+            } else {
+                dataObjsForUpdate.replace(dataObj.getId(), dataObj);
+            }
+        }
+        fireEvent(new StorageEvent(StorageEvent.Type.UPDATED, row, row));
+    }
+
+    private void checkNotReadOnly() {
+        if (readOnlyRows != null) {
+            throw new IllegalStateException("The data objects can't be changed in the read-only mode.");
+        }
+    }
+
+    /**
+     * Not tracked data object is not added, it is not new (e.g. it is replaced by its saved version).
+     */
+    private void replaceDataObjForInsert(AbstractVehicle oldDataObj, AbstractVehicle newDataObj) {
+        for (int i = 0; i < dataObjsForInsert.size(); i++) {
+            if (dataObjsForInsert.get(i) == oldDataObj) {
+                dataObjsForInsert.set(i, newDataObj);
+                if (changesInSave != null) {
+                    replacedDataObjsForInsert.put(oldDataObj, newDataObj);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Deletes the data objects (they are found by identity) in one pass, O(n + m).
+     */
+    public void deleteDataObjs(List<AbstractVehicle> objsForDel) {
+        Set<AbstractVehicle> dataObjsForDel = Collections.newSetFromMap(new IdentityHashMap<>());
+        dataObjsForDel.addAll(objsForDel);
+        deleteRows(dataObjsForDel::contains);
+    }
+
+    /**
+     * Deletes the data objects marked for delete in one pass, O(n).
+     *
+     * @return count of deleted data objects
+     */
+    public int deleteMarkedDataObjs() {
+        return deleteRows(AbstractVehicle::isMarkedForDelete);
+    }
+
+    private int deleteRows(Predicate<AbstractVehicle> isForDel) {
+        checkNotReadOnly();
+        Set<AbstractVehicle> newObjsForDel = Collections.newSetFromMap(new IdentityHashMap<>());
+        var deletedRows = new IntList();
+        int deletedCount;
+        // snapshot must not be taken while the store has gaps
+        synchronized (lock) {
+            for (int row = 0; row < rows.dataObjs.size(); row++) {
+                AbstractVehicle dataObj = rows.dataObjs.get(row);
+                if (!isForDel.test(dataObj)) {
+                    continue;
+                }
+
+                long idObjForDel = dataObj.getId();
+                if (idObjForDel > 0) {
+                    dataObjIdsForDel.add(idObjForDel);
+                    dataObjsForUpdate.remove(idObjForDel);
+                } else {
+                    newObjsForDel.add(dataObj);
+                }
+                rows.dataObjs.markGap(row);
+                deletedRows.add(row);
+                rows.statistics.remove(dataObj);
+            }
+            deletedCount = rows.dataObjs.compactGaps();
+
+            if (!newObjsForDel.isEmpty()) {
+                dataObjsForInsert.removeIf(newObjsForDel::contains);
+            }
+            if (deletedCount > 0) {
+                // removal shifts the rows
+                rows.rebuildIndexes();
+            }
+        }
+
+        if (deletedCount > 0) {
+            fireDeleteEvents(deletedRows);
+        }
+        return deletedCount;
+    }
+
+    /**
+     * Fires the events for ranges of the deleted rows from the last range to the first,
+     * so the rows of each event are valid for the listener, which applies the previous events.
+     */
+    private void fireDeleteEvents(IntList deletedRows) {
+        var ranges = new IntList();
+        int firstRow = deletedRows.get(0);
+        int lastRow = firstRow;
+        for (int i = 1; i < deletedRows.size(); i++) {
+            int row = deletedRows.get(i);
+            if (row != lastRow + 1) {
+                ranges.add(firstRow);
+                ranges.add(lastRow);
+                firstRow = row;
+            }
+            lastRow = row;
+        }
+        ranges.add(firstRow);
+        ranges.add(lastRow);
+
+        if (ranges.size() / 2 > MAX_DELETED_RANGES_EVENTS) {
+            fireEvent(StorageEvent.dataChanged());
+            return;
+        }
+
+        for (int i = ranges.size() - 2; i >= 0; i -= 2) {
+            fireEvent(new StorageEvent(StorageEvent.Type.DELETED, ranges.get(i), ranges.get(i + 1)));
+        }
+    }
+
+    private void fireEvent(StorageEvent event) {
+        for (IStorageListener listener : listeners) {
+            listener.storageChanged(event);
+        }
+    }
+
+    /**
+     * @return rows of the data objects with the number, O(1).
+     */
+    public int[] findRowsByNumber(String number) {
+        synchronized (lock) {
+            return rows.numberIndex.find(number);
+        }
+    }
+
+    /**
+     * @return rows of the data objects with number starting with the prefix (case-insensitive)
+     *         in ascending order, O(prefix length + count of found rows).
+     */
+    public int[] findRowsByNumberPrefix(String prefix) {
+        synchronized (lock) {
+            return rows.numberPrefixIndex.findByPrefix(prefix);
+        }
+    }
+
+    /**
+     * @return first (limit) rows of the data objects with number starting with the prefix
+     *         in order of the numbers.
+     */
+    public int[] findRowsByNumberPrefix(String prefix, int limit) {
+        synchronized (lock) {
+            return rows.numberPrefixIndex.findByPrefix(prefix, limit);
+        }
+    }
+
+    /**
+     * @return count of the data objects with number starting with the prefix, O(prefix length).
+     */
+    public int countByNumberPrefix(String prefix) {
+        synchronized (lock) {
+            return rows.numberPrefixIndex.countByPrefix(prefix);
+        }
+    }
+
+    /**
+     * Typo-tolerant search by number (case-insensitive).
+     *
+     * @return up to limit rows of the data objects with number in edit distance &lt;= maxDistance
+     *         to the number, closest first.
+     */
+    public int[] findRowsBySimilarNumber(String number, int maxDistance, int limit) {
+        synchronized (lock) {
+            return rows.numberTrigramIndex.findSimilar(number, maxDistance, limit);
+        }
+    }
+
+    /**
+     * @return rows of the data objects of the type.
+     */
+    public int[] findRowsByType(VehicleType type) {
+        synchronized (lock) {
+            return rows.facetIndex.getRows(type).toArray();
+        }
+    }
+
+    /**
+     * @return rows of the data objects with date time in range [from, to]
+     *         ordered by date time, O(log n) to find the range.
+     */
+    public int[] findRowsByDateTime(long from, long to) {
+        synchronized (lock) {
+            return rows.temporalIndex.findBetween(from, to);
+        }
+    }
+
+    /**
+     * @return rows of (count) data objects with the latest date time, the latest first.
+     */
+    public int[] findLatestRows(int count) {
+        synchronized (lock) {
+            return rows.temporalIndex.findLatest(count);
+        }
+    }
+
+    /**
+     * Visits rows of the data objects with date time in range [from, to] grouped by day,
+     * week or month (in the system time zone), the visitor gets the first day of the bucket
+     * and the rows of the bucket. The visitor is called under the lock of the storage.
+     */
+    public void forEachDateTimeBucket(long from, long to, TimeBucket bucket,
+            BiConsumer<LocalDate, int[]> visitor) {
+        synchronized (lock) {
+            rows.temporalIndex.forEachBucket(from, to, bucket, ZoneId.systemDefault(), visitor);
+        }
+    }
+
+    /**
+     * The facet index is used under the lock, because it is changed in other threads (save, delete).
+     * The bitmaps of the index are combined by AND/OR for filters and their cardinalities are facet counts.
+     *
+     * @return result of the query, it must not keep the bitmaps of the index.
+     */
+    public <T> T queryFacets(Function<FacetIndex, T> query) {
+        synchronized (lock) {
+            return query.apply(rows.facetIndex);
+        }
+    }
+
+    /**
+     * The counters are maintained on each change, so the query is O(1), it is run under the lock.
+     *
+     * @return result of the query, it must not keep the maps of the statistics.
+     */
+    public <T> T queryStatistics(Function<VehicleStatistics, T> query) {
+        synchronized (lock) {
+            return query.apply(rows.statistics);
+        }
+    }
+
+    /**
+     * @return rows of the data objects matching the query in ascending order.
+     */
+    public int[] findRows(VehicleQuery query) {
+        synchronized (lock) {
+            return query.findRows(rows.dataObjs);
+        }
+    }
+
+    /**
+     * Data objects with their indexes and statistics. The initialization builds the new rows
+     * without the lock and replaces the current ones under the lock.
+     */
+    private static final class Rows {
+
+        private final VehicleStore dataObjs = new VehicleStore();
+        private final NumberIndex numberIndex = new NumberIndex();
+        private final FacetIndex facetIndex = new FacetIndex();
+        private final TemporalIndex temporalIndex = new TemporalIndex();
+        private final NumberPrefixIndex numberPrefixIndex = new NumberPrefixIndex();
+        private final NumberTrigramIndex numberTrigramIndex = new NumberTrigramIndex();
+        private final List<IRowIndex> indexes = List.of(numberIndex, facetIndex, temporalIndex,
+                numberPrefixIndex, numberTrigramIndex);
+        // does not depend on rows, so it is not rebuilt after delete
+        private final VehicleStatistics statistics = new VehicleStatistics();
+
+        private void addToIndexes(int row, AbstractVehicle dataObj) {
+            for (IRowIndex index : indexes) {
+                index.add(row, dataObj);
+            }
+        }
+
+        private void rebuildIndexes() {
+            for (IRowIndex index : indexes) {
+                index.rebuild(dataObjs);
             }
         }
-        dataObjsStorage.removeAll(objsMarkedForDel);
     }
 }
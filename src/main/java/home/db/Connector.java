@@ -52,8 +52,24 @@ public final class Connector {
         return String.format(URL_POSTGRESQL, host, port, db);
     }
 
+    /**
+     * @return pooled connection, closing of it returns the connection to the pool.
+     */
     public static Connection getConnetionToSQLite() throws SQLException {
-        return getConnetion(String.format(URL_SQLITE, Settings.getDbFilePath()), new Properties(), JDBC_DRIVER_SQLITE);
+        return SQLiteConnectionPool.INSTANCE.getConnection(Settings.getDbFilePath(),
+                SQLiteProfile.getProfile(Settings.getSqliteProfile()));
+    }
+
+    static Connection openConnectionToSQLite(String dbFilePath, SQLiteProfile profile) throws SQLException {
+        Connection conn = getConnetion(String.format(URL_SQLITE, dbFilePath), new Properties(), JDBC_DRIVER_SQLITE);
+        try {
+            profile.apply(conn, dbFilePath);
+            return conn;
+        } catch (SQLException e) {
+            conn.close();
+            throw LogUtils.logAndCreateSqlException("Error while applying SQLite profile: " + profile.getName(),
+                    LOG, e);
+        }
     }
 
     private static Connection getConnetion(String url, Properties props, String jdbcDriver) throws SQLException {
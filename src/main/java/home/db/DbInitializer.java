@@ -3,12 +3,14 @@ package home.db;
 import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import home.Settings;
 import home.Settings.Setting;
+import home.utils.LogUtils;
 
 public final class DbInitializer {
 
@@ -26,11 +28,48 @@ public final class DbInitializer {
                 'has_cradle' integer,
                 'date_time' integer);""";
 
+    // range queries by date time (IDao.readBetween)
+    private static final String CREATE_DATE_TIME_IDX_QUERY =
+            "CREATE INDEX IF NOT EXISTS vehicle_date_time_idx ON vehicle (date_time);";
+
+    private static final String CREATE_NUMBER_IDX_QUERY =
+            "CREATE INDEX IF NOT EXISTS vehicle_number_idx ON vehicle (number);";
+
+    // not used by any query (the table view reads all columns by id), replaced by the index on type
+    private static final String CREATE_TYPE_VIEW_IDX_QUERY =
+            "CREATE INDEX IF NOT EXISTS vehicle_type_view_idx ON vehicle (type, date_time, color, number);";
+
+    private static final String DROP_TYPE_VIEW_IDX_QUERY = "DROP INDEX IF EXISTS vehicle_type_view_idx;";
+
+    // queries by type (IDao.readByType), rows of the type are in order of id in the index
+    private static final String CREATE_TYPE_IDX_QUERY =
+            "CREATE INDEX IF NOT EXISTS vehicle_type_idx ON vehicle (type);";
+
+    private static final String GET_VERSION_QUERY = "PRAGMA user_version;";
+    private static final String SET_VERSION_QUERY = "PRAGMA user_version = %d;";
+
+    /**
+     * Migrations of the schema in order of versions, version of the migration is its position + 1.
+     * Applied migrations must not be changed, new ones are added to the end.
+     */
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration("vehicle table", CREATE_TBL_QUERY),
+            new Migration("indexes on date time, number and type", CREATE_DATE_TIME_IDX_QUERY,
+                    CREATE_NUMBER_IDX_QUERY, CREATE_TYPE_VIEW_IDX_QUERY),
+            new Migration("index on type instead of the covering index", DROP_TYPE_VIEW_IDX_QUERY,
+                    CREATE_TYPE_IDX_QUERY));
+
+    private record Migration(String description, String... queries) {
+    }
+
     public static void createDBFileIfNotExists(File file) throws IOException {
         try {
             if (!file.exists()) {
                 file.createNewFile();
             }
+            if (Settings.hasPathToDBFile()) {
+                SQLiteConnectionPool.INSTANCE.closeIdle(Settings.getDbFilePath());
+            }
             Settings.writeSetting(Setting.DB_FILE_PATH, file.getAbsolutePath());
         } catch (IOException e) {
             LOG.error("Error while creating the DB file", e);
@@ -38,13 +77,47 @@ public final class DbInitializer {
         }
     }
 
-    public static void createTableIfNotExists() throws SQLException {
+    /**
+     * Applies the not applied migrations to the DB file (its version is PRAGMA user_version),
+     * each migration is applied in its own transaction.
+     */
+    public static void migrate() throws SQLException {
         try (var connection = Connector.getConnetionToSQLite();
              var stmt = connection.createStatement()) {
-            stmt.execute(CREATE_TBL_QUERY);
+            int version;
+            try (var res = stmt.executeQuery(GET_VERSION_QUERY)) {
+                version = res.next() ? res.getInt(1) : 0;
+            }
+            if (version > MIGRATIONS.size()) {
+                throw LogUtils.logAndCreateSqlException("Version of the DB file (%d) is newer than supported (%d)"
+                        .formatted(version, MIGRATIONS.size()), LOG);
+            }
+
+            for (int i = version; i < MIGRATIONS.size(); i++) {
+                Migration migration = MIGRATIONS.get(i);
+                connection.setAutoCommit(false);
+                try {
+                    for (String query : migration.queries()) {
+                        stmt.execute(query);
+                    }
+                    stmt.execute(SET_VERSION_QUERY.formatted(i + 1));
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw LogUtils.logAndCreateSqlException("Error while migration of the DB to version %d (%s)"
+                            .formatted(i + 1, migration.description()), LOG, e);
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+                LOG.info("DB is migrated to version {}: {}", i + 1, migration.description());
+            }
         }
     }
 
+    static int getVersion() {
+        return MIGRATIONS.size();
+    }
+
     private DbInitializer() {
     }
 }
@@ -0,0 +1,260 @@
+package home.db;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import home.utils.ThreadUtils;
+
+/**
+ * Pool of SQLite connections by DB file path.
+ * <p>
+ * Closing of a borrowed connection returns it to the pool. Each connection keeps a cache of
+ * its prepared statements (by SQL), closing of a cached statement only clears it, so the same
+ * SQL is not prepared again. Idle connections are validated before they are borrowed again,
+ * all idle connections are closed on the application shutdown.
+ */
+public enum SQLiteConnectionPool {
+
+    INSTANCE;
+
+    private static final Logger LOG = LoggerFactory.getLogger(SQLiteConnectionPool.class);
+
+    private static final int MAX_IDLE_CONNECTIONS = 4;
+    private static final int MAX_CACHED_STATEMENTS = 16;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final Map<String, Deque<PooledConnection>> idleConnectionsByPath = new HashMap<>();
+
+    private SQLiteConnectionPool() {
+        ThreadUtils.runOnShutdown(this::closeAll);
+    }
+
+    /**
+     * @param profile profile of the connection, idle connections with other profile are closed
+     */
+    public Connection getConnection(String dbFilePath, SQLiteProfile profile) throws SQLException {
+        PooledConnection pooledConn;
+        while ((pooledConn = pollIdle(dbFilePath)) != null) {
+            if (pooledConn.profile == profile && isValid(pooledConn)) {
+                return pooledConn.borrow();
+            }
+            pooledConn.closePhysically();
+        }
+        return new PooledConnection(dbFilePath, profile, Connector.openConnectionToSQLite(dbFilePath, profile))
+                .borrow();
+    }
+
+    /**
+     * Closes idle connections to the DB file (before the file is deleted or replaced).
+     */
+    public void closeIdle(String dbFilePath) {
+        Deque<PooledConnection> idleConns;
+        synchronized (this) {
+            idleConns = idleConnectionsByPath.remove(dbFilePath);
+        }
+        if (idleConns != null) {
+            idleConns.forEach(PooledConnection::closePhysically);
+        }
+    }
+
+    public void closeAll() {
+        List<PooledConnection> idleConns = new ArrayList<>();
+        synchronized (this) {
+            idleConnectionsByPath.values().forEach(idleConns::addAll);
+            idleConnectionsByPath.clear();
+        }
+        idleConns.forEach(PooledConnection::closePhysically);
+        LOG.info("SQLite connection pool is closed ({} idle connections).", idleConns.size());
+    }
+
+    private synchronized PooledConnection pollIdle(String dbFilePath) {
+        Deque<PooledConnection> idleConns = idleConnectionsByPath.get(dbFilePath);
+        return idleConns == null ? null : idleConns.pollFirst();
+    }
+
+    private void release(PooledConnection pooledConn) {
+        try {
+            if (!pooledConn.connection.getAutoCommit()) {
+                pooledConn.connection.rollback();
+                pooledConn.connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            LOG.warn("Connection to {} is not returned to the pool.", pooledConn.dbFilePath, e);
+            pooledConn.closePhysically();
+            return;
+        }
+
+        synchronized (this) {
+            Deque<PooledConnection> idleConns = idleConnectionsByPath
+                    .computeIfAbsent(pooledConn.dbFilePath, path -> new ArrayDeque<>());
+            if (idleConns.size() < MAX_IDLE_CONNECTIONS) {
+                idleConns.addFirst(pooledConn);
+                return;
+            }
+        }
+        pooledConn.closePhysically();
+    }
+
+    private static boolean isValid(PooledConnection pooledConn) {
+        try {
+            // connection to the deleted (e.g. replaced) file is not valid
+            return new File(pooledConn.dbFilePath).exists()
+                    && pooledConn.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            LOG.warn("Validation error of connection to {}.", pooledConn.dbFilePath, e);
+            return false;
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Physical connection with its statement cache. Each borrow gets new proxy,
+     * so the closed proxy cannot be used after the connection is borrowed again.
+     */
+    private final class PooledConnection {
+
+        private final String dbFilePath;
+        private final SQLiteProfile profile;
+        private final Connection connection;
+
+        // LRU: the statements with dynamic SQL (e.g. insert of the last rows) do not fill the cache
+        private final Map<String, PreparedStatement> statementsBySql =
+                new LinkedHashMap<>(MAX_CACHED_STATEMENTS, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                        if (size() <= MAX_CACHED_STATEMENTS) {
+                            return false;
+                        }
+                        closeQuietly(eldest.getValue());
+                        return true;
+                    }
+                };
+
+        private PooledConnection(String dbFilePath, SQLiteProfile profile, Connection connection) {
+            this.dbFilePath = dbFilePath;
+            this.profile = profile;
+            this.connection = connection;
+        }
+
+        private Connection borrow() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new ConnectionHandler(this));
+        }
+
+        private PreparedStatement prepareStatement(String sql) throws SQLException {
+            PreparedStatement pstmt = statementsBySql.get(sql);
+            if (pstmt == null || pstmt.isClosed()) {
+                pstmt = connection.prepareStatement(sql);
+                statementsBySql.put(sql, pstmt);
+            }
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, new StatementHandler(pstmt));
+        }
+
+        private void closePhysically() {
+            statementsBySql.values().forEach(SQLiteConnectionPool::closeQuietly);
+            statementsBySql.clear();
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOG.warn("Error while closing connection to {}.", dbFilePath, e);
+            }
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement pstmt) {
+        try {
+            pstmt.close();
+        } catch (SQLException e) {
+            LOG.warn("Error while closing prepared statement.", e);
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final PooledConnection pooledConn;
+        private boolean isClosed;
+
+        private ConnectionHandler(PooledConnection pooledConn) {
+            this.pooledConn = pooledConn;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String methodName = method.getName();
+            if ("close".equals(methodName)) {
+                if (!isClosed) {
+                    isClosed = true;
+                    release(pooledConn);
+                }
+                return null;
+            }
+            if ("isClosed".equals(methodName)) {
+                return isClosed;
+            }
+            if (isClosed) {
+                throw new SQLException("Connection is closed.");
+            }
+            if ("prepareStatement".equals(methodName) && args.length == 1) {
+                return pooledConn.prepareStatement((String) args[0]);
+            }
+            return SQLiteConnectionPool.invoke(pooledConn.connection, method, args);
+        }
+    }
+
+    /**
+     * Closing of the cached statement clears it instead of closing.
+     */
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final PreparedStatement pstmt;
+        private boolean isClosed;
+
+        private StatementHandler(PreparedStatement pstmt) {
+            this.pstmt = pstmt;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String methodName = method.getName();
+            if ("close".equals(methodName)) {
+                if (!isClosed) {
+                    isClosed = true;
+                    pstmt.clearBatch();
+                    pstmt.clearParameters();
+                }
+                return null;
+            }
+            if ("isClosed".equals(methodName)) {
+                return isClosed;
+            }
+            if (isClosed) {
+                throw new SQLException("Statement is closed.");
+            }
+            return SQLiteConnectionPool.invoke(pstmt, method, args);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package home.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performance profile of SQLite connections: pragmas which are applied when the connection is opened.
+ * <p>
+ * SAFE keeps SQLite defaults (rollback journal, full fsync on each commit). BALANCED uses WAL
+ * with fsync only on checkpoints, it is still safe on the application crash. BULK_LOAD does not
+ * fsync at all, the DB file can be damaged on power loss, it is for imports and big saves.
+ * Page size is applied only to a new (empty) DB file.
+ */
+public enum SQLiteProfile {
+
+    SAFE("safe", 4_096, "delete", 2, -2_000, 0, 0),
+    BALANCED("balanced", 4_096, "wal", 1, -16_000, 268_435_456, 2),
+    BULK_LOAD("bulk-load", 8_192, "wal", 0, -64_000, 268_435_456, 2);
+
+    /**
+     * Pragmas in order of applying (page size can't be changed in WAL mode).
+     */
+    enum Pragma {
+        PAGE_SIZE("page_size"),
+        JOURNAL_MODE("journal_mode"),
+        // 0 - OFF, 1 - NORMAL, 2 - FULL
+        SYNCHRONOUS("synchronous"),
+        // negative value is size in KiB, positive one is count of pages
+        CACHE_SIZE("cache_size"),
+        MMAP_SIZE("mmap_size"),
+        // 0 - DEFAULT, 1 - FILE, 2 - MEMORY
+        TEMP_STORE("temp_store");
+
+        private final String name;
+
+        Pragma(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(SQLiteProfile.class);
+
+    private final String name;
+    private final Map<Pragma, String> pragmas = new EnumMap<>(Pragma.class);
+
+    SQLiteProfile(String name, int pageSize, String journalMode, int synchronous, int cacheSize,
+            long mmapSize, int tempStore) {
+        this.name = name;
+        pragmas.put(Pragma.PAGE_SIZE, Integer.toString(pageSize));
+        pragmas.put(Pragma.JOURNAL_MODE, journalMode);
+        pragmas.put(Pragma.SYNCHRONOUS, Integer.toString(synchronous));
+        pragmas.put(Pragma.CACHE_SIZE, Integer.toString(cacheSize));
+        pragmas.put(Pragma.MMAP_SIZE, Long.toString(mmapSize));
+        pragmas.put(Pragma.TEMP_STORE, Integer.toString(tempStore));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    Map<Pragma, String> getPragmas() {
+        return Collections.unmodifiableMap(pragmas);
+    }
+
+    /**
+     * @return profile by name or SAFE for the unknown name.
+     */
+    public static SQLiteProfile getProfile(String name) {
+        for (SQLiteProfile profile : SQLiteProfile.values()) {
+            if (profile.getName().equalsIgnoreCase(name == null ? null : name.strip())) {
+                return profile;
+            }
+        }
+        if (name != null && !name.isBlank()) {
+            LOG.warn("Unknown SQLite profile '{}', profile '{}' is used.", name, SAFE.getName());
+        }
+        return SAFE;
+    }
+
+    /**
+     * Applies the pragmas, reads them back and logs them (not applied pragmas too).
+     *
+     * @return actual values of the pragmas.
+     */
+    Map<Pragma, String> apply(Connection conn, String dbFilePath) throws SQLException {
+        var actualPragmas = new EnumMap<Pragma, String>(Pragma.class);
+        try (var stmt = conn.createStatement()) {
+            for (Map.Entry<Pragma, String> pragma : pragmas.entrySet()) {
+                stmt.execute("PRAGMA %s = %s;".formatted(pragma.getKey().name, pragma.getValue()));
+            }
+
+            var applied = new StringJoiner(", ");
+            for (Map.Entry<Pragma, String> pragma : pragmas.entrySet()) {
+                String actual;
+                try (var res = stmt.executeQuery("PRAGMA %s;".formatted(pragma.getKey().name))) {
+                    actual = res.next() ? res.getString(1).toLowerCase(Locale.ROOT) : null;
+                }
+                actualPragmas.put(pragma.getKey(), actual);
+                applied.add(pragma.getKey().name + '=' + actual);
+
+                if (pragma.getValue().equals(actual)) {
+                    continue;
+                }
+                if (pragma.getKey() == Pragma.PAGE_SIZE) {
+                    LOG.info("SQLite profile '{}': page size of not empty DB file is not changed ({}) for {}",
+                            name, actual, dbFilePath);
+                } else {
+                    LOG.warn("SQLite profile '{}': {} is {} instead of {} for {}", name, pragma.getKey().name,
+                            actual, pragma.getValue(), dbFilePath);
+                }
+            }
+            LOG.info("SQLite profile '{}' is applied to {}: {}", name, dbFilePath, applied);
+        }
+        return actualPragmas;
+    }
+}
@@ -4,14 +4,17 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.StringJoiner;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,10 +23,14 @@ import home.IConsts;
 import home.Storage;
 import home.models.AbstractVehicle;
 import home.models.Car;
+import home.models.IVehicleRow;
 import home.models.Motorcycle;
 import home.models.Truck;
+import home.models.VehicleField;
 import home.models.VehicleType;
+import home.storage.StorageChanges;
 import home.utils.LogUtils;
+import home.utils.StringDictionary;
 
 abstract sealed class AbstractDao implements IDao permits DaoSQLite {
 
@@ -31,6 +38,17 @@ abstract sealed class AbstractDao implements IDao permits DaoSQLite {
 
     private static final String SELECT_ALL = "SELECT * FROM vehicle;";
 
+    private static final String SELECT_BETWEEN =
+            "SELECT * FROM vehicle WHERE date_time BETWEEN ? AND ? ORDER BY date_time;";
+
+    private static final String SELECT_BY_TYPE = "SELECT * FROM vehicle WHERE type = ? ORDER BY id;";
+
+    private static final String SELECT_COUNT = "SELECT COUNT(*) FROM vehicle;";
+
+    private static final String SELECT_PAGE = "SELECT * FROM vehicle WHERE id > ? ORDER BY id LIMIT ?;";
+
+    private static final String SELECT_PAGE_AT = "SELECT * FROM vehicle ORDER BY id LIMIT ? OFFSET ?;";
+
     private static final String SELECT_ONE = "SELECT * FROM vehicle WHERE id=?;";
 
     private static final String INSERT = """
@@ -39,16 +57,56 @@ abstract sealed class AbstractDao implements IDao permits DaoSQLite {
             'is_transports_passengers','has_trailer','has_cradle')
             VALUES (?,?,?,?,?,?,?,?);""";
 
+    private static final int COLUMNS_COUNT = 8;
+
+    private static final String INSERT_ROWS = """
+            INSERT INTO vehicle
+            ('type','color','number','date_time','is_transports_cargo',
+            'is_transports_passengers','has_trailer','has_cradle')
+            VALUES %s%s;""";
+
+    private static final String RETURNING_ID = " RETURNING id";
+
+    private static final String UPSERT_ROWS = """
+            INSERT INTO vehicle
+            ('id','type','color','number','date_time','is_transports_cargo',
+            'is_transports_passengers','has_trailer','has_cradle')
+            VALUES %s
+            ON CONFLICT(id) DO UPDATE SET
+            type = excluded.type, color = excluded.color, number = excluded.number,
+            date_time = excluded.date_time, is_transports_cargo = excluded.is_transports_cargo,
+            is_transports_passengers = excluded.is_transports_passengers,
+            has_trailer = excluded.has_trailer, has_cradle = excluded.has_cradle;""";
+
+    private static final String UPDATE_COLUMNS = "UPDATE vehicle SET %s WHERE id = ?;";
+
     private static final String UPDATE = """
             UPDATE vehicle SET 
             type = ?, color = ?, number = ?, date_time = ?,
             is_transports_cargo = ?, is_transports_passengers = ?,
             has_trailer = ?, has_cradle = ? WHERE id = ?;""";
 
-    private static final String DELETE = "DELETE FROM vehicle WHERE id IN (%s);";
+    // ids for delete are staged in the temporary table of the connection, so the delete is one
+    // statement with a constant SQL for any count of ids
+    private static final String CREATE_IDS_FOR_DEL =
+            "CREATE TEMP TABLE IF NOT EXISTS vehicle_ids_for_del (id integer PRIMARY KEY);";
+
+    private static final String INSERT_ID_FOR_DEL = "INSERT OR IGNORE INTO temp.vehicle_ids_for_del (id) VALUES (?);";
+
+    private static final String DELETE = "DELETE FROM vehicle WHERE id IN (SELECT id FROM temp.vehicle_ids_for_del);";
+
+    private static final String CLEAR_IDS_FOR_DEL = "DELETE FROM temp.vehicle_ids_for_del;";
 
     private static final String CONNECTION_ERROR_CODE = "08";
 
+    private static final int DEFAULT_FETCH_SIZE = 1_000;
+    private static final int BATCH_SIZE = 1_000;
+    // SQLITE_MAX_VARIABLE_NUMBER (since SQLite 3.32), limit of parameters of one statement
+    private static final int MAX_VARIABLES = 32_766;
+
+    private static final String INSERT_ERROR = "The information has not been added to the database: %s";
+    private static final String UPDATE_ERROR = "Thw information in the database has not been updated: %s";
+
     protected AbstractDao() {
     }
 
@@ -84,13 +142,78 @@ abstract sealed class AbstractDao implements IDao permits DaoSQLite {
 
     @Override
     public List<AbstractVehicle> readAll() throws SQLException {
+        var dataObjs = new ArrayList<AbstractVehicle>();
+        readAll(dataObjs::add);
+        return dataObjs;
+    }
+
+    @Override
+    public int readAll(Consumer<AbstractVehicle> consumer) throws SQLException {
+        return readAll(DEFAULT_FETCH_SIZE, consumer);
+    }
+
+    @Override
+    public int readAll(int fetchSize, Consumer<AbstractVehicle> consumer) throws SQLException {
         try (var conn = getConnection()) {
             conn.setTransactionIsolation(getTransactionIsolation());
-            try (var stmt = conn.createStatement();
-                 var res = stmt.executeQuery(SELECT_ALL)) {
+            try (var pstmt = conn.prepareStatement(SELECT_ALL)) {
+                pstmt.setFetchSize(fetchSize);
+                int count = 0;
+                try (var res = pstmt.executeQuery()) {
+                    while (res.next()) {
+                        consumer.accept(convertResultToDataObj(res));
+                        count++;
+                    }
+                }
+                return count;
+            }
+        }
+    }
+
+    @Override
+    public List<AbstractVehicle> readBetween(long from, long to) throws SQLException {
+        return read(SELECT_BETWEEN, from, to);
+    }
+
+    @Override
+    public List<AbstractVehicle> readByType(VehicleType type) throws SQLException {
+        return read(SELECT_BY_TYPE, type.getType());
+    }
+
+    @Override
+    public int count() throws SQLException {
+        try (var conn = getConnection()) {
+            conn.setTransactionIsolation(getTransactionIsolation());
+            try (var pstmt = conn.prepareStatement(SELECT_COUNT);
+                 var res = pstmt.executeQuery()) {
+                return res.next() ? res.getInt(1) : 0;
+            }
+        }
+    }
+
+    @Override
+    public List<AbstractVehicle> readPage(long afterId, int limit) throws SQLException {
+        return read(SELECT_PAGE, afterId, limit);
+    }
+
+    @Override
+    public List<AbstractVehicle> readPageAt(long offset, int limit) throws SQLException {
+        return read(SELECT_PAGE_AT, limit, offset);
+    }
+
+    private List<AbstractVehicle> read(String sql, Object... params) throws SQLException {
+        try (var conn = getConnection()) {
+            conn.setTransactionIsolation(getTransactionIsolation());
+            try (var pstmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < params.length; i++) {
+                    pstmt.setObject(i + 1, params[i]);
+                }
+
                 var dataObjs = new ArrayList<AbstractVehicle>();
-                while (res.next()) {
-                    dataObjs.add(convertResultToDataObj(res));
+                try (var res = pstmt.executeQuery()) {
+                    while (res.next()) {
+                        dataObjs.add(convertResultToDataObj(res));
+                    }
                 }
                 return dataObjs;
             }
@@ -125,9 +248,10 @@ abstract sealed class AbstractDao implements IDao permits DaoSQLite {
         };
 
         vehicle.setId(res.getLong(IDbConsts.ID));
-        vehicle.setColor(res.getString(IDbConsts.COLOR));
+        vehicle.setColor(StringDictionary.COLORS.intern(res.getString(IDbConsts.COLOR)));
         vehicle.setNumber(res.getString(IDbConsts.NUMBER));
         vehicle.setDateTime(res.getLong(IDbConsts.DATE_TIME));
+        vehicle.resetChangedFields();
 
         return vehicle;
     }
@@ -142,84 +266,169 @@ abstract sealed class AbstractDao implements IDao permits DaoSQLite {
 
     @Override
     public void saveAllChanges() throws SQLException {
-        var exceptions = new ArrayList<SQLException>();
+        saveAllChanges(IProgressListener.NONE);
+    }
 
-        try {
-            Long[] idsForDel = Storage.INSTANCE.getIdsForDel();
-            if (idsForDel.length > 0) {
-                delete(idsForDel);
+    /**
+     * Unit of work: deletes, updates and inserts of the storage are saved in one transaction,
+     * so the DB gets all changes or none of them. Updated rows with known changed fields
+     * are saved by UPDATE of these columns only (grouped by the set of changed fields),
+     * rows with changed type are saved by multi-row upserts, not changed rows are skipped,
+     * new rows are saved by multi-row inserts. If the save fails, the wrong rows are found
+     * by bisection and reported by the exception.
+     */
+    @Override
+    public void saveAllChanges(IProgressListener progressListener) throws SQLException {
+        StorageChanges changes = Storage.INSTANCE.getChanges();
+        if (changes.size() == 0) {
+            return;
+        }
+
+        long[] idsForDel = changes.idsForDel();
+        List<AbstractVehicle> dataObjsForUpdate = changes.dataObjsForUpdate();
+        List<AbstractVehicle> dataObjsForInsert = changes.dataObjsForInsert();
+
+        var dataObjsForUpsert = new ArrayList<AbstractVehicle>();
+        var dataObjsByChangedFields = new LinkedHashMap<Set<VehicleField>, List<AbstractVehicle>>();
+        int notChangedCount = 0;
+        for (AbstractVehicle dataObj : dataObjsForUpdate) {
+            Set<VehicleField> changedFields = dataObj.getChangedFields();
+            if (changedFields.isEmpty()) {
+                // e.g. the dialog is closed by OK without edits
+                notChangedCount++;
+            } else if (changedFields.contains(VehicleField.TYPE)) {
+                // the changed type (all fields of not tracked changes too) rewrites the whole row
+                dataObjsForUpsert.add(dataObj);
+            } else {
+                dataObjsByChangedFields.computeIfAbsent(changedFields, fields -> new ArrayList<>()).add(dataObj);
             }
-        } catch (IllegalStateException e) {
-            exceptions.add(new SQLException("Delete operation error.", e));
         }
 
-        try {
-            Set<Long> idsForUpdate = Storage.INSTANCE.getIdsForUpdate();
-            operation(this::update, dataObj -> dataObj.getId() > 0 && idsForUpdate.contains(dataObj.getId()));
-        } catch (IllegalStateException e) {
-            exceptions.add(new SQLException("Update operation error.", e));
+        var progress = new Progress(changes.size(), progressListener);
+
+        boolean isSaved = false;
+        try (var conn = getConnection()) {
+            conn.setAutoCommit(false);
+            conn.setTransactionIsolation(getTransactionIsolation());
+            try {
+                if (idsForDel.length > 0) {
+                    delete(conn, idsForDel);
+                    progress.add(idsForDel.length);
+                }
+                if (notChangedCount > 0) {
+                    progress.add(notChangedCount);
+                }
+                for (Map.Entry<Set<VehicleField>, List<AbstractVehicle>> entry : dataObjsByChangedFields.entrySet()) {
+                    updateColumns(conn, entry.getKey(), entry.getValue(), progress);
+                }
+                executeMultiRow(conn, dataObjsForUpsert, true, false, progress);
+                long[] newIds = executeMultiRow(conn, dataObjsForInsert, false, true, progress);
+                conn.commit();
+                conn.setAutoCommit(true);
+
+                // the DB is not read again to get ids of the new rows
+                Storage.INSTANCE.markChangesSaved(changes, newIds);
+                isSaved = true;
+            } catch (SQLException e) {
+                String errorMsg = "Save all changes operation error, no changes are saved.";
+
+                checkConnectionState(e, errorMsg);
+
+                rollBackAndLog(conn, e, errorMsg);
+                throw findWrongRows(conn, idsForDel, dataObjsByChangedFields, dataObjsForUpsert, dataObjsForInsert,
+                        errorMsg, e);
+            }
+        } finally {
+            if (!isSaved) {
+                Storage.INSTANCE.saveFailed(changes);
+            }
         }
+    }
 
+    /**
+     * The rolled back save is repeated with bisection of the rows under savepoints to find the wrong rows,
+     * then it is rolled back again, so the DB is not changed.
+     *
+     * @return exception with the wrong rows (if they are found) to throw.
+     */
+    private SQLException findWrongRows(Connection conn, long[] idsForDel,
+            Map<Set<VehicleField>, List<AbstractVehicle>> dataObjsByChangedFields,
+            List<AbstractVehicle> dataObjsForUpsert, List<AbstractVehicle> dataObjsForInsert,
+            String errorMsg, SQLException saveException) {
+        var errors = new BisectionErrors("Exception in save all changes mechanism by bisection.");
         try {
-            operation(this::insert, dataObj -> dataObj.getId() == 0);
-        } catch (IllegalStateException e) {
-            exceptions.add(new SQLException("Insert operation error.", e));
+            if (idsForDel.length > 0) {
+                delete(conn, idsForDel);
+            }
+            for (Map.Entry<Set<VehicleField>, List<AbstractVehicle>> entry : dataObjsByChangedFields.entrySet()) {
+                executeByBisection(conn, getUpdateColumnsSql(entry.getKey()), entry.getValue(),
+                        getUpdateColumnsFiller(entry.getKey()), UPDATE_ERROR, errors);
+            }
+            executeByBisection(conn, UPSERT_ROWS.formatted(getRowParams(COLUMNS_COUNT + 1)), dataObjsForUpsert,
+                    (pstmt, dataObj) -> {
+                        pstmt.setLong(1, dataObj.getId());
+                        fillStmtByDataFromObj(pstmt, 2, dataObj);
+                    }, UPDATE_ERROR, errors);
+            executeByBisection(conn, INSERT, dataObjsForInsert,
+                    (pstmt, dataObj) -> fillStmtByDataFromObj(pstmt, dataObj, false), INSERT_ERROR, errors);
+        } catch (SQLException e) {
+            // the wrong rows are not found, e.g. the delete is failed
+            saveException.addSuppressed(e);
+        } finally {
+            try {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            } catch (SQLException e) {
+                saveException.addSuppressed(e);
+            }
         }
 
-        if (!exceptions.isEmpty()) {
-            var mainExceptions = new SQLException("Save all changes operation error.");
-            exceptions.forEach(mainExceptions::addSuppressed);
-            throw mainExceptions;
+        if (errors.errorsWithDataObjs.isEmpty()) {
+            return new SQLException(errorMsg, saveException);
         }
-    }
 
-    private void operation(Consumer<List<AbstractVehicle>> sqlOperation,
-            Predicate<AbstractVehicle> objFilter) {
-        List<AbstractVehicle> objs = Storage.INSTANCE.getAll().stream()
-                .filter(objFilter).collect(Collectors.toList());
-        if (!objs.isEmpty()) {
-            sqlOperation.accept(objs);
-        }
+        errors.mainException.addSuppressed(saveException);
+        return LogUtils.logAndCreateSqlException(errorMsg + " Wrong rows: \n"
+                + String.join("\n", errors.errorsWithDataObjs), LOG, errors.mainException);
     }
 
     @Override
     public void saveAs() throws SQLException {
         try {
-            insert(Storage.INSTANCE.getAll());
+            insert(Storage.INSTANCE.getRowsSnapshot());
         } catch (IllegalStateException e) {
             throw new SQLException("Save as operation error (insert).", e);
         }
     }
 
-    private void insert(List<AbstractVehicle> dataObjs) {
-        sqlOperationBatch(false, dataObjs, "The information has not been added to the database: %s");
+    private void insert(List<? extends IVehicleRow> dataObjs) {
+        sqlOperationBatch(false, dataObjs, INSERT_ERROR);
     }
 
-    public void update(List<AbstractVehicle> dataObjs) {
-        sqlOperationBatch(true, dataObjs, "Thw information in the database has not been updated: %s");
+    public void update(List<? extends IVehicleRow> dataObjs) {
+        sqlOperationBatch(true, dataObjs, UPDATE_ERROR);
     }
 
-    private void sqlOperationBatch(boolean isUpdateOperation, List<AbstractVehicle> dataObjs, String errorMsg) {
+    /**
+     * All rows are saved in one transaction (one commit), if a batch fails,
+     * the wrong rows are found by bisection of the batches.
+     */
+    private void sqlOperationBatch(boolean isUpdateOperation, List<? extends IVehicleRow> dataObjs,
+            String errorMsg) {
         String sql = isUpdateOperation ? UPDATE : INSERT;
 
         try (var conn = getConnection()) {
             conn.setAutoCommit(false);
             conn.setTransactionIsolation(getTransactionIsolation());
-            try (var pstmt = conn.prepareStatement(sql)) {
-                int operationsCount = 0;
-                for (AbstractVehicle dataObj : dataObjs) {
-                    pstmt.clearParameters();
-                    fillStmtByDataFromObj(pstmt, dataObj, isUpdateOperation);
-                    pstmt.addBatch();
-                    operationsCount++;
-
-                    // execute each 1k items
-                    if (operationsCount % 1_000 == 0 || operationsCount == dataObjs.size()) {
-                        checkBatchExecution(pstmt.executeBatch(),
-                                String.format(errorMsg, dataObj), getLogger());
-                        conn.commit();
-                    }
+            try {
+                var progress = new Progress(dataObjs.size(), IProgressListener.NONE);
+                if (isUpdateOperation) {
+                    executeBatches(conn, sql, dataObjs, errorMsg, progress,
+                            (pstmt, dataObj) -> fillStmtByDataFromObj(pstmt, dataObj, true));
+                } else {
+                    executeMultiRow(conn, dataObjs, false, false, progress);
                 }
+                conn.commit();
                 conn.setAutoCommit(true);
             } catch (SQLException e) {
                 String error = String.format(errorMsg, IConsts.EMPTY_STRING);
@@ -227,13 +436,137 @@ abstract sealed class AbstractDao implements IDao permits DaoSQLite {
                 checkConnectionState(e, errorMsg);
 
                 rollBackAndLog(conn, e, error);
-                sqlOperationOneByOne(conn, sql, dataObjs, isUpdateOperation, error);
+                sqlOperationByBisection(conn, sql, dataObjs, isUpdateOperation, error);
             }
         } catch (SQLException e) {
             throw new IllegalStateException("SQL insert/update operation errror: ", e);
         }
     }
 
+    /**
+     * Inserts (or upserts) the rows by multi-row statements of the maximal size, without commit.
+     *
+     * @param isReturningIds ids of the inserted rows are returned (not for upsert)
+     * @return ids of the inserted rows in order of the rows or empty array.
+     */
+    private long[] executeMultiRow(Connection conn, List<? extends IVehicleRow> dataObjs, boolean isUpsert,
+            boolean isReturningIds, Progress progress) throws SQLException {
+        int rowColumnsCount = isUpsert ? COLUMNS_COUNT + 1 : COLUMNS_COUNT;
+        int rowsPerStmt = MAX_VARIABLES / rowColumnsCount;
+        long[] ids = new long[isReturningIds ? dataObjs.size() : 0];
+
+        for (int from = 0; from < dataObjs.size(); from += rowsPerStmt) {
+            List<? extends IVehicleRow> rows = dataObjs.subList(from, Math.min(from + rowsPerStmt, dataObjs.size()));
+            String values = String.join(",", Collections.nCopies(rows.size(), getRowParams(rowColumnsCount)));
+
+            String sql = isUpsert ? UPSERT_ROWS.formatted(values)
+                    : INSERT_ROWS.formatted(values, isReturningIds ? RETURNING_ID : IConsts.EMPTY_STRING);
+            try (var pstmt = conn.prepareStatement(sql)) {
+                int param = 1;
+                for (IVehicleRow dataObj : rows) {
+                    if (isUpsert) {
+                        pstmt.setLong(param++, dataObj.getId());
+                    }
+                    param = fillStmtByDataFromObj(pstmt, param, dataObj);
+                }
+
+                if (isReturningIds) {
+                    readInsertedIds(pstmt, ids, from, rows.size());
+                } else {
+                    pstmt.executeUpdate();
+                }
+            }
+            progress.add(rows.size());
+        }
+        return ids;
+    }
+
+    /**
+     * @return parameters of one row of the VALUES clause: (?,?,...).
+     */
+    private static String getRowParams(int columnsCount) {
+        return "(" + String.join(",", Collections.nCopies(columnsCount, "?")) + ")";
+    }
+
+    /**
+     * Order of rows of RETURNING is not defined, but AUTOINCREMENT ids grow in order
+     * of the inserted rows, so the sorted ids are in order of the rows.
+     */
+    private void readInsertedIds(PreparedStatement pstmt, long[] ids, int from, int count) throws SQLException {
+        int to = from;
+        try (var res = pstmt.executeQuery()) {
+            while (res.next()) {
+                if (to == from + count) {
+                    throw new SQLException("More ids than inserted rows: " + count);
+                }
+                ids[to++] = res.getLong(1);
+            }
+        }
+        if (to != from + count) {
+            throw new SQLException("Inserted rows: %d, but ids: %d".formatted(count, to - from));
+        }
+        Arrays.sort(ids, from, to);
+    }
+
+    /**
+     * Updates the changed columns only, without commit.
+     */
+    private void updateColumns(Connection conn, Set<VehicleField> fields, List<? extends IVehicleRow> dataObjs,
+            Progress progress) throws SQLException {
+        executeBatches(conn, getUpdateColumnsSql(fields), dataObjs, UPDATE_ERROR, progress,
+                getUpdateColumnsFiller(fields));
+    }
+
+    private static String getUpdateColumnsSql(Set<VehicleField> fields) {
+        var columns = new StringJoiner(", ");
+        for (VehicleField field : fields) {
+            columns.add(getColumn(field) + " = ?");
+        }
+        return UPDATE_COLUMNS.formatted(columns);
+    }
+
+    private IStmtFiller getUpdateColumnsFiller(Set<VehicleField> fields) {
+        return (pstmt, dataObj) -> {
+            int param = 1;
+            for (VehicleField field : fields) {
+                setField(pstmt, param++, field, dataObj);
+            }
+            pstmt.setLong(param, dataObj.getId());
+        };
+    }
+
+    /**
+     * Executes the statement for the rows by batches, without commit.
+     */
+    private void executeBatches(Connection conn, String sql, List<? extends IVehicleRow> dataObjs,
+            String errorMsg, Progress progress, IStmtFiller filler) throws SQLException {
+        if (dataObjs.isEmpty()) {
+            return;
+        }
+
+        try (var pstmt = conn.prepareStatement(sql)) {
+            int batchSize = 0;
+            for (IVehicleRow dataObj : dataObjs) {
+                // not used columns of the type must be null, not the values of the previous row
+                pstmt.clearParameters();
+                filler.fill(pstmt, dataObj);
+                pstmt.addBatch();
+                batchSize++;
+
+                if (batchSize == BATCH_SIZE) {
+                    checkBatchExecution(pstmt.executeBatch(), String.format(errorMsg, dataObj), getLogger());
+                    progress.add(batchSize);
+                    batchSize = 0;
+                }
+            }
+            if (batchSize > 0) {
+                checkBatchExecution(pstmt.executeBatch(),
+                        String.format(errorMsg, dataObjs.get(dataObjs.size() - 1)), getLogger());
+                progress.add(batchSize);
+            }
+        }
+    }
+
     void checkBatchExecution(int[] batchResults, String errorMsg, Logger log) throws SQLException {
         if (batchResults == null) {
             log.warn("Batch execution result is null.\nCheck!\nMaybe " + errorMsg);
@@ -271,69 +604,157 @@ abstract sealed class AbstractDao implements IDao permits DaoSQLite {
 
     private void checkConnectionState(SQLException e, String errorMsg) throws SQLException {
         String sqlState = e.getSQLState();
-        if (sqlState.startsWith(CONNECTION_ERROR_CODE)) {
+        if (sqlState != null && sqlState.startsWith(CONNECTION_ERROR_CODE)) {
             throw LogUtils.logAndCreateSqlException("%s:\nConnection error (code %s)".formatted(errorMsg, sqlState),
                     getLogger());
         }
     }
 
-    private void sqlOperationOneByOne(Connection conn, String sql, List<AbstractVehicle> dataObjs,
+    /**
+     * Recovery of the failed batch: the rows are executed by batches under savepoints, the failed
+     * batch is rolled back to its savepoint and split in halves until the wrong rows are found.
+     * The right rows are committed together, the wrong ones are reported by the exception.
+     */
+    private void sqlOperationByBisection(Connection conn, String sql, List<? extends IVehicleRow> dataObjs,
             boolean isUpdateOperation, String errorMsg) throws SQLException {
         String operationType = isUpdateOperation ? "update" : "insert";
 
-        Exception mainException = null;
-        var errorsWithDataObjs = new ArrayList<String>();
-
+        var errors = new BisectionErrors("Exception in %s mechanism by bisection.".formatted(operationType));
+        executeByBisection(conn, sql, dataObjs,
+                (pstmt, dataObj) -> fillStmtByDataFromObj(pstmt, dataObj, isUpdateOperation), errorMsg, errors);
+        conn.commit();
         conn.setAutoCommit(true);
-        for (AbstractVehicle dataObj : dataObjs) {
-            try (var pstmt = conn.prepareStatement(sql)) {
-                fillStmtByDataFromObj(pstmt, dataObj, isUpdateOperation);
-                pstmt.execute();
-            } catch (SQLException e) {
-                mainException = addException(mainException, e,
-                        "Exception in %s mechanism one by one.".formatted(operationType));
-                errorsWithDataObjs.add(dataObj.toString() + "\n\t(" + e.getMessage() + ')');
-            }
-        }
 
-        if (!errorsWithDataObjs.isEmpty()) {
+        if (!errors.errorsWithDataObjs.isEmpty()) {
             var sb = new StringBuilder();
             sb.append(errorMsg).append(" Can't ").append(operationType).append(": \n")
-                    .append(String.join("\n", errorsWithDataObjs));
+                    .append(String.join("\n", errors.errorsWithDataObjs));
 
-            throw LogUtils.logAndCreateSqlException(sb.toString(), LOG, mainException);
+            throw LogUtils.logAndCreateSqlException(sb.toString(), LOG, errors.mainException);
         }
     }
 
-    private void fillStmtByDataFromObj(PreparedStatement pstmt, AbstractVehicle dataObj,
+    /**
+     * Executes the statement for the rows by batches with bisection of the failed batches, without commit.
+     * The wrong rows are added to the errors.
+     */
+    private void executeByBisection(Connection conn, String sql, List<? extends IVehicleRow> dataObjs,
+            IStmtFiller filler, String errorMsg, BisectionErrors errors) throws SQLException {
+        if (dataObjs.isEmpty()) {
+            return;
+        }
+
+        try (var pstmt = conn.prepareStatement(sql)) {
+            for (int from = 0; from < dataObjs.size(); from += BATCH_SIZE) {
+                bisect(conn, pstmt, dataObjs.subList(from, Math.min(from + BATCH_SIZE, dataObjs.size())),
+                        filler, errorMsg, errors);
+            }
+        }
+    }
+
+    private void bisect(Connection conn, PreparedStatement pstmt, List<? extends IVehicleRow> dataObjs,
+            IStmtFiller filler, String errorMsg, BisectionErrors errors) throws SQLException {
+        Savepoint savepoint = conn.setSavepoint();
+        try {
+            if (dataObjs.size() == 1) {
+                // single row is executed without batch for the exact error message
+                pstmt.clearParameters();
+                filler.fill(pstmt, dataObjs.get(0));
+                pstmt.executeUpdate();
+            } else {
+                for (IVehicleRow dataObj : dataObjs) {
+                    pstmt.clearParameters();
+                    filler.fill(pstmt, dataObj);
+                    pstmt.addBatch();
+                }
+                checkBatchExecution(pstmt.executeBatch(), "%s (batch of %d rows)".formatted(errorMsg,
+                        dataObjs.size()), getLogger());
+            }
+            conn.releaseSavepoint(savepoint);
+            return;
+        } catch (SQLException e) {
+            pstmt.clearBatch();
+            conn.rollback(savepoint);
+            conn.releaseSavepoint(savepoint);
+
+            if (dataObjs.size() == 1) {
+                errors.add(dataObjs.get(0), e);
+                return;
+            }
+        }
+
+        int middle = dataObjs.size() / 2;
+        bisect(conn, pstmt, dataObjs.subList(0, middle), filler, errorMsg, errors);
+        bisect(conn, pstmt, dataObjs.subList(middle, dataObjs.size()), filler, errorMsg, errors);
+    }
+
+    private void fillStmtByDataFromObj(PreparedStatement pstmt, IVehicleRow dataObj,
             boolean isUpdateOperation) throws SQLException {
+        int param = fillStmtByDataFromObj(pstmt, 1, dataObj);
+
+        if (isUpdateOperation) {
+            pstmt.setLong(param, dataObj.getId());
+        }
+    }
+
+    /**
+     * Sets the columns of the row from the first parameter, not used columns of the type
+     * are not set (the cleared parameter is null).
+     *
+     * @return index of the parameter after the row.
+     */
+    private int fillStmtByDataFromObj(PreparedStatement pstmt, int firstParam, IVehicleRow dataObj)
+            throws SQLException {
         VehicleType dataObjType = dataObj.getType();
 
-        pstmt.setString(1, dataObjType.getType());
-        pstmt.setString(2, dataObj.getColor());
-        pstmt.setString(3, dataObj.getNumber());
-        pstmt.setLong(4, dataObj.getDateTime());
+        pstmt.setString(firstParam, dataObjType.getType());
+        pstmt.setString(firstParam + 1, dataObj.getColor());
+        pstmt.setString(firstParam + 2, dataObj.getNumber());
+        pstmt.setLong(firstParam + 3, dataObj.getDateTime());
 
         switch (dataObjType) {
             case CAR:
-                Car car = (Car) dataObj;
-                pstmt.setInt(6, converToInt(car.isTransportsPassengers()));
-                pstmt.setInt(7, converToInt(car.hasTrailer()));
+                pstmt.setInt(firstParam + 5, converToInt(dataObj.isTransportsPassengers()));
+                pstmt.setInt(firstParam + 6, converToInt(dataObj.hasTrailer()));
                 break;
 
             case TRUCK:
-                Truck truck = (Truck) dataObj;
-                pstmt.setInt(5, converToInt(truck.isTransportsCargo()));
-                pstmt.setInt(7, converToInt(truck.hasTrailer()));
+                pstmt.setInt(firstParam + 4, converToInt(dataObj.isTransportsCargo()));
+                pstmt.setInt(firstParam + 6, converToInt(dataObj.hasTrailer()));
                 break;
 
             case MOTORCYCLE:
-                pstmt.setInt(8, converToInt(((Motorcycle) dataObj).hasCradle()));
+                pstmt.setInt(firstParam + 7, converToInt(dataObj.hasCradle()));
                 break;
         }
 
-        if (isUpdateOperation) {
-            pstmt.setLong(9, dataObj.getId());
+        return firstParam + COLUMNS_COUNT;
+    }
+
+    private static String getColumn(VehicleField field) {
+        return switch (field) {
+            case TYPE -> IDbConsts.TYPE;
+            case COLOR -> IDbConsts.COLOR;
+            case NUMBER -> IDbConsts.NUMBER;
+            case DATE_TIME -> IDbConsts.DATE_TIME;
+            case IS_TRANSPORTS_CARGO -> IDbConsts.IS_TRANSPORTS_CARGO;
+            case IS_TRANSPORTS_PASSENGERS -> IDbConsts.IS_TRANSPORTS_PASSENGERS;
+            case HAS_TRAILER -> IDbConsts.HAS_TRAILER;
+            case HAS_CRADLE -> IDbConsts.HAS_CRADLE;
+        };
+    }
+
+    private void setField(PreparedStatement pstmt, int param, VehicleField field, IVehicleRow dataObj)
+            throws SQLException {
+        switch (field) {
+            case TYPE -> pstmt.setString(param, dataObj.getType().getType());
+            case COLOR -> pstmt.setString(param, dataObj.getColor());
+            case NUMBER -> pstmt.setString(param, dataObj.getNumber());
+            case DATE_TIME -> pstmt.setLong(param, dataObj.getDateTime());
+            case IS_TRANSPORTS_CARGO -> pstmt.setInt(param, converToInt(dataObj.isTransportsCargo()));
+            case IS_TRANSPORTS_PASSENGERS -> pstmt.setInt(param, converToInt(dataObj.isTransportsPassengers()));
+            case HAS_TRAILER -> pstmt.setInt(param, converToInt(dataObj.hasTrailer()));
+            case HAS_CRADLE -> pstmt.setInt(param, converToInt(dataObj.hasCradle()));
         }
     }
 
@@ -341,66 +762,72 @@ abstract sealed class AbstractDao implements IDao permits DaoSQLite {
         return booleanVal ? 1 : 0;
     }
 
-    private void delete(Long[] ids) {
-        String idsStr = Stream.of(ids).map(String::valueOf).collect(Collectors.joining(","));
-        String sql = String.format(DELETE, idsStr);
-        try (var conn = getConnection()) {
-            conn.setAutoCommit(false);
-            conn.setTransactionIsolation(getTransactionIsolation());
-            try (var pstmt = conn.prepareStatement(sql)) {
-                if (pstmt.executeUpdate() <= 0) {
-                    throw new SQLException("Information has not been deleted from the database."
-                            + "\nid list for delete: " + idsStr);
-                }
-                conn.commit();
-                conn.setAutoCommit(true);
-            } catch (SQLException e) {
-                String errorMsg = "Error while removal several rose in one query.";
+    /**
+     * Deletes the rows by ids in the transaction of the connection (without commit).
+     */
+    private void delete(Connection conn, long[] ids) throws SQLException {
+        try (var stmt = conn.createStatement()) {
+            stmt.execute(CREATE_IDS_FOR_DEL);
+            // the pooled connection keeps ids of the previous delete
+            stmt.execute(CLEAR_IDS_FOR_DEL);
+        }
 
-                checkConnectionState(e, errorMsg);
+        try (var pstmt = conn.prepareStatement(INSERT_ID_FOR_DEL)) {
+            for (int i = 0; i < ids.length; i++) {
+                pstmt.setLong(1, ids[i]);
+                pstmt.addBatch();
 
-                rollBackAndLog(conn, e, errorMsg);
-                deleteOneByOne(conn, ids);
+                if ((i + 1) % BATCH_SIZE == 0 || i == ids.length - 1) {
+                    checkBatchExecution(pstmt.executeBatch(), "Ids for delete are not staged.", getLogger());
+                }
             }
-        } catch (SQLException e) {
-            throw new IllegalStateException("SQL delete operation error: ", e);
+        }
+
+        try (var pstmt = conn.prepareStatement(DELETE)) {
+            int deletedCount = pstmt.executeUpdate();
+            if (deletedCount <= 0) {
+                throw new SQLException("Information has not been deleted from the database."
+                        + "\ncount of ids for delete: " + ids.length);
+            }
+            getLogger().debug("Deleted {} rows of {} ids.", deletedCount, ids.length);
         }
     }
 
-    private void deleteOneByOne(Connection conn, Long[] ids) throws SQLException {
-        Exception mainException = null;
-        var errorsWithIds = new ArrayList<String>();
+    @FunctionalInterface
+    private interface IStmtFiller {
 
-        conn.setAutoCommit(true);
-        String sql = String.format(DELETE, "?");
+        void fill(PreparedStatement pstmt, IVehicleRow dataObj) throws SQLException;
+    }
 
-        for (Long id : ids) {
-            try (var pstmt = conn.prepareStatement(sql)) {
-                pstmt.setLong(1, id);
-                if (pstmt.executeUpdate() <= 0) {
-                    errorsWithIds.add(id + IConsts.EMPTY_STRING);
-                }
-            } catch (SQLException e) {
-                mainException = addException(mainException, e, "Exception in delete mechanism one by one");
-                errorsWithIds.add(id + "\n\t(" + e.getMessage() + ')');
-            }
-        }
+    private static final class BisectionErrors {
 
-        if (!errorsWithIds.isEmpty()) {
-            var sb = new StringBuilder();
-            sb.append("Information has not been deleted from the database")
-                    .append("\nCan't delete objects with ids:\n")
-                    .append(String.join("\n", errorsWithIds));
+        private final SQLException mainException;
+        private final List<String> errorsWithDataObjs = new ArrayList<>();
 
-            throw LogUtils.logAndCreateSqlException(sb.toString(), LOG, mainException);
+        private BisectionErrors(String msg) {
+            mainException = new SQLException(msg);
+        }
+
+        private void add(IVehicleRow dataObj, SQLException e) {
+            mainException.addSuppressed(e);
+            errorsWithDataObjs.add(dataObj.toString() + "\n\t(" + e.getMessage() + ')');
         }
     }
 
-    private Exception addException(Exception mainException, Exception newException, String msg) {
-        if (mainException == null) {
-            mainException = new SQLException(msg);
+    private static final class Progress {
+
+        private final int total;
+        private final IProgressListener listener;
+        private int done;
+
+        private Progress(int total, IProgressListener listener) {
+            this.total = total;
+            this.listener = listener;
+        }
+
+        private void add(int count) {
+            done += count;
+            listener.progressChanged(done, total);
         }
-        mainException.addSuppressed(newException);
-        return mainException;
     }
-}
\ No newline at end of file
+}
@@ -2,18 +2,57 @@ package home.db.dao;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 import home.models.AbstractVehicle;
+import home.models.VehicleType;
+import home.storage.IPageReader;
 
-public sealed interface IDao permits AbstractDao {
+public sealed interface IDao extends IPageReader<SQLException> permits AbstractDao {
 
     List<AbstractVehicle> readAll() throws SQLException;
 
+    /**
+     * Passes the data objects to the consumer one by one as they are read from the result set,
+     * so all of them are not collected in memory at once.
+     *
+     * @return count of the read data objects.
+     */
+    int readAll(Consumer<AbstractVehicle> consumer) throws SQLException;
+
+    /**
+     * @param fetchSize count of rows which are fetched by the driver at once
+     * @see #readAll(Consumer)
+     */
+    int readAll(int fetchSize, Consumer<AbstractVehicle> consumer) throws SQLException;
+
+    /**
+     * @return data objects with date time in range [from, to] ordered by date time,
+     *         they are read by the index on date_time.
+     */
+    List<AbstractVehicle> readBetween(long from, long to) throws SQLException;
+
+    /**
+     * @return data objects of the type ordered by id, they are read by the index on type.
+     */
+    List<AbstractVehicle> readByType(VehicleType type) throws SQLException;
+
+    /**
+     * @return count of the rows in the DB.
+     */
+    int count() throws SQLException;
+
     // because it uses only in test.
     @Deprecated(forRemoval = true)
     AbstractVehicle readOne(long id) throws SQLException;
 
     void saveAllChanges() throws SQLException;
 
+    /**
+     * Saves all changes of the storage in one transaction: if it fails, no changes are saved.
+     * New data objects of the storage get their ids from the DB.
+     */
+    void saveAllChanges(IProgressListener progressListener) throws SQLException;
+
     void saveAs() throws SQLException;
 }
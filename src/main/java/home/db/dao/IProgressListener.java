@@ -0,0 +1,17 @@
+package home.db.dao;
+
+/**
+ * Listener of progress of a long DB operation (e.g. save), it is called in the thread of the operation.
+ */
+@FunctionalInterface
+public interface IProgressListener {
+
+    IProgressListener NONE = (done, total) -> {
+    };
+
+    /**
+     * @param done  count of processed rows
+     * @param total count of all rows of the operation
+     */
+    void progressChanged(int done, int total);
+}
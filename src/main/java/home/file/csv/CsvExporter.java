@@ -32,7 +32,7 @@ public final class CsvExporter implements IExporter {
 
     @Override
     public String exportAllDataObjsToString() {
-        List<AbstractVehicle> dataObjStarage = Storage.INSTANCE.getAll();
+        List<AbstractVehicle> dataObjStarage = Storage.INSTANCE.getSnapshot();
 
         var convertedDataObj = new ArrayList<String[]>(dataObjStarage.size() + 1);
         convertedDataObj.add(ICsvConsts.CSV_HEADER);
@@ -21,6 +21,7 @@ import home.models.Motorcycle;
 import home.models.Truck;
 import home.models.VehicleType;
 import home.utils.LogUtils;
+import home.utils.StringDictionary;
 import home.utils.Utils;
 
 public final class CsvImporter implements IImporter {
@@ -90,7 +91,7 @@ public final class CsvImporter implements IImporter {
         for (int tagIdx = ICsvConsts.COLOR_IDX; tagIdx <= ICsvConsts.HAS_CRADLE_IDX; tagIdx++) {
             String value = rawDataObj[tagIdx];
             switch (tagIdx) {
-                case ICsvConsts.COLOR_IDX -> dataObj.setColor(value);
+                case ICsvConsts.COLOR_IDX -> dataObj.setColor(StringDictionary.COLORS.intern(value));
                 case ICsvConsts.NUMBER_IDX -> dataObj.setNumber(value);
                 case ICsvConsts.DATE_IDX -> dataObj.setDateTime(Utils.getLongFromFormattedDate(value));
                 case ICsvConsts.HAS_TRAILER_IDX -> {
@@ -11,6 +11,7 @@ import home.models.Car;
 import home.models.Motorcycle;
 import home.models.Truck;
 import home.models.VehicleType;
+import home.utils.StringDictionary;
 import home.utils.Utils;
 
 abstract sealed class AbstractJsonYamlImporter implements IImporter
@@ -51,7 +52,7 @@ abstract sealed class AbstractJsonYamlImporter implements IImporter
             }
 
             switch (tag) {
-                case COLOR -> dataObj.setColor(tagValue);
+                case COLOR -> dataObj.setColor(StringDictionary.COLORS.intern(tagValue));
                 case NUMBER -> dataObj.setNumber(tagValue);
                 case DATE -> dataObj.setDateTime(Utils.getLongFromFormattedDate(tagValue));
                 case HAS_TRAILER -> {
@@ -23,7 +23,7 @@ public final class JsonExporter extends AbstractJsonYamlExporter {
     public String exportAllDataObjsToString() {
         try {
             var convertedDataObjs = new ArrayList<Map<String, String>>();
-            for (AbstractVehicle dataObj : Storage.INSTANCE.getAll()) {
+            for (AbstractVehicle dataObj : Storage.INSTANCE.getSnapshot()) {
                 convertedDataObjs.add(convertDataObjToMap(dataObj));
             }
 
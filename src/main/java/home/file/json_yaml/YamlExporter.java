@@ -19,7 +19,7 @@ public final class YamlExporter extends AbstractJsonYamlExporter {
     @Override
     public String exportAllDataObjsToString() {
         var convertedDataObjs = new ArrayList<Map<String, String>>();
-        for (AbstractVehicle dataObj : Storage.INSTANCE.getAll()) {
+        for (AbstractVehicle dataObj : Storage.INSTANCE.getSnapshot()) {
             convertedDataObjs.add(convertDataObjToMap(dataObj));
         }
 
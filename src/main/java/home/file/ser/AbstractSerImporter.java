@@ -6,6 +6,7 @@ import java.util.List;
 
 import home.file.IImporter;
 import home.models.AbstractVehicle;
+import home.utils.StringDictionary;
 
 abstract sealed class AbstractSerImporter implements IImporter permits BserImporter, SerImporter {
 
@@ -13,16 +14,16 @@ abstract sealed class AbstractSerImporter implements IImporter permits BserImpor
             throws ClassNotFoundException, IOException {
         @SuppressWarnings("unchecked")
         var dataObjs = (List<AbstractVehicle>) objInputStream.readObject();
-        checkListObjTypes(dataObjs);
+        checkListObjTypesAndInternColors(dataObjs);
         return dataObjs;
     }
 
-    private void checkListObjTypes(List<AbstractVehicle> dataObjs) {
-        // empty loop checks the type of each object:
+    private void checkListObjTypesAndInternColors(List<AbstractVehicle> dataObjs) {
+        // the loop checks the type of each object:
         // if the list contains objects of other types,
         // then the ClassCastException will be thrown
         for (AbstractVehicle dataobj : dataObjs) {
-            // empty loop
+            dataobj.setColor(StringDictionary.COLORS.intern(dataobj.getColor()));
         }
     }
 }
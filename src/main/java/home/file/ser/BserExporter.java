@@ -4,6 +4,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.util.Base64;
+import java.util.LinkedList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,7 +21,8 @@ public final class BserExporter implements IExporter {
     public String exportAllDataObjsToString() {
         try (var byteArrOutputStream = new ByteArrayOutputStream();
              var objOutputStream = new ObjectOutputStream(byteArrOutputStream)) {
-            objOutputStream.writeObject(Storage.INSTANCE.getAll());
+            // the data objects are written as LinkedList to keep the file format of the earlier versions
+            objOutputStream.writeObject(new LinkedList<>(Storage.INSTANCE.getSnapshot()));
             return Base64.getEncoder().encodeToString(byteArrOutputStream.toByteArray());
         } catch (IOException e) {
             throw LogUtils.logAndCreateIllegalStateException("BSER export converter error", LOG, e);
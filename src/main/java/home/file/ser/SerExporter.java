@@ -5,6 +5,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.util.LinkedList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,7 +22,8 @@ public final class SerExporter implements IExporter {
         try (var fileOutputStream = new FileOutputStream(file);
              var buffOutputStream = new BufferedOutputStream(fileOutputStream);
              var objOutputStream = new ObjectOutputStream(buffOutputStream)) {
-            objOutputStream.writeObject(Storage.INSTANCE.getAll());
+            // the data objects are written as LinkedList to keep the file format of the earlier versions
+            objOutputStream.writeObject(new LinkedList<>(Storage.INSTANCE.getSnapshot()));
             objOutputStream.flush();
         } catch (IOException e) {
             throw LogUtils.logAndCreateIllegalStateException("SER rxport error", LOG, e);
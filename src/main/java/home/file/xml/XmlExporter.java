@@ -57,7 +57,7 @@ public final class XmlExporter implements IExporter {
             xmlWriter.writeStartDocument(StandardCharsets.UTF_8.name(), XML_VERSION);
             xmlWriter.writeStartElement(Tag.VEHICLES.getTagName());
 
-            for (AbstractVehicle dataObj : Storage.INSTANCE.getAll()) {
+            for (AbstractVehicle dataObj : Storage.INSTANCE.getSnapshot()) {
                 addObjToXmlWriter(xmlWriter, dataObj);
             }
 
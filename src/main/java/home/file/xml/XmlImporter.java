@@ -24,6 +24,7 @@ import home.models.Motorcycle;
 import home.models.Truck;
 import home.models.VehicleType;
 import home.utils.LogUtils;
+import home.utils.StringDictionary;
 import home.utils.Utils;
 
 public final class XmlImporter implements IImporter {
@@ -67,7 +68,7 @@ public final class XmlImporter implements IImporter {
                         case COLOR:
                             currentParseEvent = reader.next();
                             checkEvent(currentParseEvent, reader);
-                            dataObj.setColor(reader.getText());
+                            dataObj.setColor(StringDictionary.COLORS.intern(reader.getText()));
                             break;
 
                         case NUMBER:
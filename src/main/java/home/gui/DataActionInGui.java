@@ -1,30 +1,54 @@
 package home.gui;
 
+import java.sql.SQLException;
 import java.util.List;
 
+import home.Settings;
 import home.Storage;
+import home.db.dao.IDao;
 import home.models.AbstractVehicle;
+import home.storage.PagedVehicleList;
+import home.storage.StorageMode;
 
+/**
+ * The table is refreshed by the events of the storage.
+ */
 public final class DataActionInGui {
 
+    // DB with more rows is shown by pages, it is not read in memory at all
+    private static final int WINDOWED_MODE_MIN_ROWS = 1_000_000;
+    private static final int WINDOW_PAGE_SIZE = 500;
+    private static final int WINDOW_MAX_PAGES = 64;
+
     public static void init(List<AbstractVehicle> dataObjs) {
         Storage.INSTANCE.initDataObjs(dataObjs);
-        Gui.INSTANCE.refreshTable();
+    }
+
+    /**
+     * The rows are kept in the columnar storage if it is selected in the settings,
+     * otherwise a big DB is shown in the windowed mode.
+     */
+    public static void initFromDb(IDao dao) throws SQLException {
+        int count = dao.count();
+        if (StorageMode.getMode(Settings.getStorageMode()) == StorageMode.COLUMNAR) {
+            Storage.INSTANCE.initColumnar(count, dao::readAll);
+        } else if (count >= WINDOWED_MODE_MIN_ROWS) {
+            Storage.INSTANCE.initWindow(new PagedVehicleList(count, WINDOW_PAGE_SIZE, WINDOW_MAX_PAGES, dao));
+        } else {
+            Storage.INSTANCE.initDataObjs(dao::readAll);
+        }
     }
 
     public static void add(List<AbstractVehicle> dataObjs) {
         Storage.INSTANCE.addDataObjs(dataObjs);
-        Gui.INSTANCE.refreshTable();
     }
 
     public static void update(AbstractVehicle dataObj, int tblRowOfSelectedDataObj) {
         Storage.INSTANCE.updateDataObj(dataObj, tblRowOfSelectedDataObj);
-        Gui.INSTANCE.refreshTable();
     }
 
-    public static void delete(List<AbstractVehicle> objsMarkedForDelete) {
-        Storage.INSTANCE.deleteDataObjs(objsMarkedForDelete);
-        Gui.INSTANCE.refreshTable();
+    public static void delete() {
+        Storage.INSTANCE.deleteMarkedDataObjs();
     }
 
     private DataActionInGui() {
@@ -8,7 +8,6 @@ import java.awt.event.MouseEvent;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.stream.Collectors;
 
 import javax.swing.JButton;
 import javax.swing.JCheckBoxMenuItem;
@@ -22,9 +21,11 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JSeparator;
 import javax.swing.JTable;
+import javax.swing.JTextField;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
-import javax.swing.table.AbstractTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +39,7 @@ import home.gui.components.CustomJFrame;
 import home.gui.components.CustomJPanel;
 import home.gui.components.CustomJPanel.PanelType;
 import home.gui.components.CustomJTable;
+import home.gui.components.CustomJTextField;
 import home.gui.components.CustomJfileChooserImpExp.DataFormat;
 import home.gui.components.dialog.DialogCar;
 import home.gui.components.dialog.DialogMoto;
@@ -45,7 +47,7 @@ import home.gui.components.dialog.DialogTruck;
 import home.gui.listener.CreateOrOpenActionListener;
 import home.gui.listener.ExportImportActionListener;
 import home.gui.listener.SaveActionListener;
-import home.models.AbstractVehicle;
+import home.storage.StorageEvent;
 import home.utils.LogUtils;
 import home.utils.ThreadUtils;
 
@@ -56,15 +58,24 @@ public enum Gui {
     private static final Logger LOG = LoggerFactory.getLogger(Gui.class);
 
     private static final int CLICK_COUNT = 2;
+    private static final int SEARCH_FIELD_COLUMNS = 20;
+    private static final int SEARCH_PANEL_GAP = 5;
+    // plates are often typed with one wrong char
+    private static final int SEARCH_MAX_TYPOS = 1;
+    private static final int SEARCH_SIMILAR_LIMIT = 100;
 
     private static Gui instance;
 
     private JLabel dbLabel;
 
     private JTable table;
-    private AbstractTableModel tableModel;
     private JScrollPane tableScrollPane;
 
+    private JTextField searchField;
+    private JLabel searchResultLabel;
+    // position of the selected row in the found rows, Enter selects the next found row
+    private int searchResultIdx;
+
     private JButton btnCar;
     private JButton btnTruck;
     private JButton btnMoto;
@@ -74,13 +85,12 @@ public enum Gui {
     private JPanel panelButton;
 
     private JMenuBar menuBar;
+    private JMenuItem saveAsItem;
+    private JMenu importItem;
+    private JMenu exportItem;
 
     private JFrame frame;
 
-    public void refreshTable() {
-        tableModel.fireTableDataChanged();
-    }
-
     public void setDBLabel(String label) {
         dbLabel.setText(label);
     }
@@ -89,10 +99,33 @@ public enum Gui {
         setStyle(Settings.getStyle());
 
         createTable();
+        createSearch();
         createButtons();
         createPannels();
         createMenu();
         createFrame();
+        Storage.INSTANCE.addListener(event -> {
+            if (StorageEvent.Type.DATA_CHANGED == event.type()) {
+                SwingUtilities.invokeLater(this::setEditable);
+            }
+        });
+    }
+
+    /**
+     * The data objects can't be edited, imported and searched in the read-only (windowed and columnar) modes.
+     * In the windowed mode they are not in the storage, so they can't be saved as other DB file and exported too.
+     */
+    private void setEditable() {
+        boolean isEditable = !Storage.INSTANCE.isReadOnly();
+        boolean isInStorage = !Storage.INSTANCE.isWindowed();
+        searchField.setEnabled(isEditable);
+        btnCar.setEnabled(isEditable);
+        btnTruck.setEnabled(isEditable);
+        btnMoto.setEnabled(isEditable);
+        btnDel.setEnabled(isEditable);
+        saveAsItem.setEnabled(isInStorage);
+        importItem.setEnabled(isEditable);
+        exportItem.setEnabled(isInStorage);
     }
 
     private void setStyle(String style) {
@@ -131,7 +164,7 @@ public enum Gui {
             @Override
             public void mousePressed(MouseEvent mouseEvent) {
                 JTable table = (JTable) mouseEvent.getSource();
-                if (CLICK_COUNT == mouseEvent.getClickCount()) {
+                if (CLICK_COUNT == mouseEvent.getClickCount() && !Storage.INSTANCE.isReadOnly()) {
                     int selectedTableRow = table.getSelectedRow();
                     DialogCaller.showObjDialog(frame,
                             Storage.INSTANCE.get(selectedTableRow), selectedTableRow);
@@ -140,7 +173,70 @@ public enum Gui {
         });
 
         tableScrollPane = new JScrollPane(table);
-        tableModel = (AbstractTableModel) table.getModel();
+    }
+
+    private void createSearch() {
+        searchField = CustomJTextField.create(SEARCH_FIELD_COLUMNS);
+        searchResultLabel = new JLabel();
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent event) {
+                searchByNumber(false);
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent event) {
+                searchByNumber(false);
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent event) {
+                searchByNumber(false);
+            }
+        });
+        searchField.addActionListener(actionEvent -> searchByNumber(true));
+    }
+
+    /**
+     * Selects the found row (found rows are in order of the numbers), the rows are found
+     * by the prefix index of Storage, so time does not depend on count of all rows.
+     * If no number starts with the text, the numbers with a typo are searched.
+     */
+    private void searchByNumber(boolean isNextResult) {
+        String prefix = searchField.getText();
+        if (prefix.isBlank()) {
+            searchResultLabel.setText(null);
+            return;
+        }
+
+        int row;
+        int foundCount = Storage.INSTANCE.countByNumberPrefix(prefix);
+        if (foundCount > 0) {
+            searchResultLabel.setText(IGuiConsts.SEARCH_RESULT.formatted(foundCount));
+            searchResultIdx = isNextResult ? (searchResultIdx + 1) % foundCount : 0;
+            int[] rows = Storage.INSTANCE.findRowsByNumberPrefix(prefix, searchResultIdx + 1);
+            if (rows.length == 0) {
+                // the rows are deleted in other thread after the count
+                return;
+            }
+            row = rows[rows.length - 1];
+        } else {
+            // the closest numbers are shown first
+            int[] rows = Storage.INSTANCE.findRowsBySimilarNumber(prefix,
+                    SEARCH_MAX_TYPOS, SEARCH_SIMILAR_LIMIT);
+            searchResultLabel.setText(IGuiConsts.SEARCH_SIMILAR_RESULT.formatted(rows.length));
+            if (rows.length == 0) {
+                return;
+            }
+            searchResultIdx = isNextResult ? (searchResultIdx + 1) % rows.length : 0;
+            row = rows[searchResultIdx];
+        }
+        // the table can get the change of the rows later than the index
+        if (row >= table.getRowCount()) {
+            return;
+        }
+        table.setRowSelectionInterval(row, row);
+        table.scrollRectToVisible(table.getCellRect(row, 0, true));
     }
 
     private void createButtons() {
@@ -160,19 +256,22 @@ public enum Gui {
         btnDel.addActionListener(actionEvent -> {
             ThreadUtils.runInThread(() -> {
                 Thread.currentThread().setName("-> delete action");
-                List<AbstractVehicle> objsMarkedForDel = Storage.INSTANCE.getAll().stream()
-                        .filter(dataObj -> dataObj.isMarkedForDelete())
-                        .collect(Collectors.toList());
-                if (!objsMarkedForDel.isEmpty()) {
-                    DataActionInGui.delete(objsMarkedForDel);
-                }
+                DataActionInGui.delete();
             });
         });
     }
 
     private void createPannels() {
         panelTable = CustomJPanel.create(PanelType.FRAME_TABLE_PANEL);
-        panelTable.add(dbLabel, BorderLayout.NORTH);
+        var searchPanel = new JPanel(new BorderLayout(SEARCH_PANEL_GAP, SEARCH_PANEL_GAP));
+        searchPanel.add(new JLabel(IGuiConsts.SEARCH_BY_NUMBER), BorderLayout.WEST);
+        searchPanel.add(searchField, BorderLayout.CENTER);
+        searchPanel.add(searchResultLabel, BorderLayout.EAST);
+
+        var headerPanel = new JPanel(new BorderLayout(SEARCH_PANEL_GAP, SEARCH_PANEL_GAP));
+        headerPanel.add(dbLabel, BorderLayout.NORTH);
+        headerPanel.add(searchPanel, BorderLayout.SOUTH);
+        panelTable.add(headerPanel, BorderLayout.NORTH);
         panelTable.add(tableScrollPane, BorderLayout.CENTER);
 
         panelButton = CustomJPanel.create(PanelType.FRAME_BUTTON_PANEL);
@@ -188,9 +287,9 @@ public enum Gui {
         JMenuItem createOrOpenItime = createMenuItem(IGuiConsts.CREATE_OR_OPEN,
                 new CreateOrOpenActionListener(frame, dbLabel, LOG));
         JMenuItem saveItem = createMenuItem(IGuiConsts.SAVE, new SaveActionListener(frame, dbLabel, false, LOG));
-        JMenuItem saveAsItem = createMenuItem(IGuiConsts.SAVE_AS, new SaveActionListener(frame, dbLabel, true, LOG));
-        JMenu importItem = createImportExportDropdownMenu(true);
-        JMenu exportItem = createImportExportDropdownMenu(false);
+        saveAsItem = createMenuItem(IGuiConsts.SAVE_AS, new SaveActionListener(frame, dbLabel, true, LOG));
+        importItem = createImportExportDropdownMenu(true);
+        exportItem = createImportExportDropdownMenu(false);
         var fileMenu = new JMenu(IGuiConsts.FILE);
         fileMenu.add(createOrOpenItime);
         fileMenu.add(new JSeparator());
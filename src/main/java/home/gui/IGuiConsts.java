@@ -43,6 +43,12 @@ public interface IGuiConsts {
     // Save dialog text
     String SAVE_TITLE = "Save";
     String SAVE_TEXT = "Save successfully";
+    String SAVE_PROGRESS = "Saving: %d%%";
+
+    // Search by number
+    String SEARCH_BY_NUMBER = "Search by number:";
+    String SEARCH_RESULT = "found: %d";
+    String SEARCH_SIMILAR_RESULT = "not found, similar: %d";
 
     // DB Label
     String CHOOSE_DB_FILE = "Choose SQLite DB file via file -> Open/Create";
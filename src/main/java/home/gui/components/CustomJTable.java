@@ -23,7 +23,9 @@ public final class CustomJTable extends JTable {
 
     public static JTable create() {
         var tbl = new CustomJTable();
-        tbl.setModel(new CustomJTableDataModel(Storage.INSTANCE.getAll()));
+        var tblModel = new CustomJTableDataModel(Storage.INSTANCE::getTableRows);
+        Storage.INSTANCE.addListener(tblModel);
+        tbl.setModel(tblModel);
         tbl.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         tbl.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
 //        tbl.setAutoResizeMode(JTable.AUTO_RESIZE_LAST_COLUMN);
@@ -1,16 +1,21 @@
 package home.gui.components;
 
 import java.util.List;
+import java.util.function.Supplier;
 
+import javax.swing.SwingUtilities;
 import javax.swing.table.AbstractTableModel;
 
 import home.IConsts;
+import home.Storage;
 import home.gui.IGuiConsts;
-import home.models.AbstractVehicle;
+import home.models.IVehicleRow;
+import home.storage.IStorageListener;
+import home.storage.StorageEvent;
 import home.utils.Utils;
 
 @SuppressWarnings("serial")
-final class CustomJTableDataModel extends AbstractTableModel {
+final class CustomJTableDataModel extends AbstractTableModel implements IStorageListener {
 
     private static final int COLUMNS_COUNT = 5;
 
@@ -20,15 +25,16 @@ final class CustomJTableDataModel extends AbstractTableModel {
     public static final int DATE_COL_IDX = 3;
     public static final int DEL_MARK_COL_IDX = 4;
 
-    private final List<AbstractVehicle> dataObjs;
+    // rows can be replaced by the storage (windowed and columnar modes)
+    private final Supplier<List<? extends IVehicleRow>> dataObjs;
 
-    public CustomJTableDataModel(List<AbstractVehicle> dataObjs) {
+    public CustomJTableDataModel(Supplier<List<? extends IVehicleRow>> dataObjs) {
         this.dataObjs = dataObjs;
     }
 
     @Override
     public int getRowCount() {
-        return dataObjs.size();
+        return dataObjs.get().size();
     }
 
     @Override
@@ -51,7 +57,7 @@ final class CustomJTableDataModel extends AbstractTableModel {
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-        AbstractVehicle dataObj = dataObjs.get(rowIndex);
+        IVehicleRow dataObj = dataObjs.get().get(rowIndex);
 
         Object cellValue = switch (columnIndex) {
             case TYPE_COL_IDX -> dataObj.getType();
@@ -73,12 +79,33 @@ final class CustomJTableDataModel extends AbstractTableModel {
 
     @Override
     public boolean isCellEditable(int rowIndex, int columnIndex) {
-        return columnIndex == DEL_MARK_COL_IDX;
+        return columnIndex == DEL_MARK_COL_IDX && !Storage.INSTANCE.isReadOnly();
     }
 
     @Override
     public void setValueAt(Object aValue, int rowIndex, int columnIndex) {
-        dataObjs.get(rowIndex).setMarkedForDelete((Boolean) aValue);
-        fireTableCellUpdated(rowIndex, columnIndex);
+        // the table is notified by the storage event
+        Storage.INSTANCE.setMarkedForDelete(rowIndex, (Boolean) aValue);
+    }
+
+    /**
+     * Only the changed rows are repainted, instead of the whole table.
+     */
+    @Override
+    public void storageChanged(StorageEvent event) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            fireTableEvent(event);
+        } else {
+            SwingUtilities.invokeLater(() -> fireTableEvent(event));
+        }
+    }
+
+    private void fireTableEvent(StorageEvent event) {
+        switch (event.type()) {
+            case INSERTED -> fireTableRowsInserted(event.firstRow(), event.lastRow());
+            case UPDATED -> fireTableRowsUpdated(event.firstRow(), event.lastRow());
+            case DELETED -> fireTableRowsDeleted(event.firstRow(), event.lastRow());
+            case DATA_CHANGED -> fireTableDataChanged();
+        }
     }
 }
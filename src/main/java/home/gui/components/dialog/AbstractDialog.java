@@ -51,7 +51,8 @@ public abstract sealed class AbstractDialog extends AbstractCustomJDialog permit
         super(title, widht, height);
         this.tblRowOfSelectedDataObj = tblRowOfSelectedDataObj;
         if (dataObj != null) {
-            this.dataObj = dataObj;
+            // the copy is edited, the storage replaces the original data object on update
+            this.dataObj = dataObj.copy();
             isNewDataObj = false;
         } else {
             isNewDataObj = true;
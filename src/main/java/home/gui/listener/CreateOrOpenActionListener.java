@@ -36,8 +36,8 @@ public final class CreateOrOpenActionListener implements ActionListener {
             Thread.currentThread().setName("-> create or open DB file");
             try {
                 CustomJFileChooser.createAndShowChooser(parent, CustomJFileChooser.ChooserOperation.CREATE_OR_OPEN);
-                DbInitializer.createTableIfNotExists();
-                DataActionInGui.init(DaoSQLite.getInstance().readAll());
+                DbInitializer.migrate();
+                DataActionInGui.initFromDb(DaoSQLite.getInstance());
                 dbLabel.setText(Settings.getDbFilePath());
             } catch (IOException e) {
                 LogUtils.logAndShowError(log, parent, "Error while create/open DB file.",
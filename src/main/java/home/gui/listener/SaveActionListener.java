@@ -8,6 +8,7 @@ import java.sql.SQLException;
 
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
 
 import org.slf4j.Logger;
 
@@ -44,19 +45,20 @@ public final class SaveActionListener implements ActionListener {
                 if (isSaveAs) {
                     try {
                         CustomJFileChooser.createAndShowChooser(parent, CustomJFileChooser.ChooserOperation.SAVE_AS);
-                        DbInitializer.createTableIfNotExists();
+                        DbInitializer.migrate();
                         DaoSQLite.getInstance().saveAs();
+                        // all rows have new ids in the new DB file
+                        DataActionInGui.initFromDb(DaoSQLite.getInstance());
                     } catch (SaveAsToSameFileException e) {
-                        DaoSQLite.getInstance().saveAllChanges();
+                        DaoSQLite.getInstance().saveAllChanges(this::showProgress);
                     } catch (SaveAsCancelException e) {
                         // to do nothing.
                         return;
                     }
                 } else {
-                    DaoSQLite.getInstance().saveAllChanges();
+                    DaoSQLite.getInstance().saveAllChanges(this::showProgress);
                 }
-                DataActionInGui.init(DaoSQLite.getInstance().readAll());
-                dbLabel.setText(Settings.getDbFilePath());
+                SwingUtilities.invokeLater(() -> dbLabel.setText(Settings.getDbFilePath()));
                 JOptionPane.showMessageDialog(parent, IGuiConsts.SAVE_TEXT, IGuiConsts.SAVE_TITLE,
                         JOptionPane.INFORMATION_MESSAGE);
             } catch (IOException e) {
@@ -69,4 +71,9 @@ public final class SaveActionListener implements ActionListener {
             }
         });
     }
+
+    private void showProgress(int done, int total) {
+        long percent = done * 100L / total;
+        SwingUtilities.invokeLater(() -> dbLabel.setText(IGuiConsts.SAVE_PROGRESS.formatted(percent)));
+    }
 }
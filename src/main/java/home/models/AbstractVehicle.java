@@ -1,13 +1,19 @@
 package home.models;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 
-public abstract sealed class AbstractVehicle implements Serializable
+public abstract sealed class AbstractVehicle implements IVehicleRow, Serializable
         permits AbstractVehicleWithTrailer, Motorcycle {
 
     private static final long serialVersionUID = 6042928580773544419L;
 
+    private static final byte ALL_FIELDS = (byte) ((1 << VehicleField.values().length) - 1);
+
     private long id;
     private VehicleType type;
     private String color;
@@ -16,6 +22,10 @@ public abstract sealed class AbstractVehicle implements Serializable
 
     private boolean isMarkedForDelete;
 
+    // bits of the fields (by VehicleField ordinal) changed since the data object was read from the DB,
+    // all fields of the new (or deserialized) data object are changed
+    private transient byte changedFields = ALL_FIELDS;
+
     public AbstractVehicle() {
         this.type = getInitializedType();
 
@@ -23,6 +33,58 @@ public abstract sealed class AbstractVehicle implements Serializable
 
     protected abstract VehicleType getInitializedType();
 
+    /**
+     * @return a copy of the data object, it is used to edit the data object
+     *         without changing the instance kept in the storage.
+     */
+    public abstract AbstractVehicle copy();
+
+    /**
+     * Fields are copied without setters, so the copy has the same changed fields.
+     */
+    protected <T extends AbstractVehicle> T copyTo(T copy) {
+        AbstractVehicle vehicle = copy;
+        vehicle.id = id;
+        vehicle.color = color;
+        vehicle.number = number;
+        vehicle.dateTime = dateTime;
+        vehicle.isMarkedForDelete = isMarkedForDelete;
+        vehicle.changedFields = changedFields;
+        return copy;
+    }
+
+    /**
+     * @return fields changed by the setters since the data object was read from the DB,
+     *         empty if the data object is not changed. All fields are changed for the new data object
+     *         and the deserialized one (its changes are unknown).
+     */
+    public Set<VehicleField> getChangedFields() {
+        Set<VehicleField> fields = EnumSet.noneOf(VehicleField.class);
+        for (VehicleField field : VehicleField.values()) {
+            if ((changedFields & 1 << field.ordinal()) != 0) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Called when the data object is read from the DB or saved to it.
+     */
+    public void resetChangedFields() {
+        changedFields = 0;
+    }
+
+    protected void markChanged(VehicleField field) {
+        changedFields |= 1 << field.ordinal();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        changedFields = ALL_FIELDS;
+    }
+
+    @Override
     public long getId() {
         return id;
     }
@@ -31,38 +93,55 @@ public abstract sealed class AbstractVehicle implements Serializable
         this.id = id;
     }
 
+    @Override
     public VehicleType getType() {
         return type;
     }
 
     public void setType(VehicleType type) {
+        if (this.type != type) {
+            markChanged(VehicleField.TYPE);
+        }
         this.type = type;
     }
 
+    @Override
     public String getColor() {
         return color;
     }
 
     public void setColor(String color) {
+        if (!Objects.equals(this.color, color)) {
+            markChanged(VehicleField.COLOR);
+        }
         this.color = color;
     }
 
+    @Override
     public String getNumber() {
         return number;
     }
 
     public void setNumber(String number) {
+        if (!Objects.equals(this.number, number)) {
+            markChanged(VehicleField.NUMBER);
+        }
         this.number = number;
     }
 
+    @Override
     public long getDateTime() {
         return dateTime;
     }
 
     public void setDateTime(long dateTime) {
+        if (this.dateTime != dateTime) {
+            markChanged(VehicleField.DATE_TIME);
+        }
         this.dateTime = dateTime;
     }
 
+    @Override
     public boolean isMarkedForDelete() {
         return isMarkedForDelete;
     }
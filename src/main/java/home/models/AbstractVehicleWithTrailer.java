@@ -8,14 +8,25 @@ public abstract sealed class AbstractVehicleWithTrailer extends AbstractVehicle
 
     private boolean hasTrailer;
 
+    @Override
     public boolean hasTrailer() {
         return hasTrailer;
     }
 
     public void setHasTrailer(boolean hasTrailer) {
+        if (this.hasTrailer != hasTrailer) {
+            markChanged(VehicleField.HAS_TRAILER);
+        }
         this.hasTrailer = hasTrailer;
     }
 
+    @Override
+    protected <T extends AbstractVehicle> T copyTo(T copy) {
+        super.copyTo(copy);
+        ((AbstractVehicleWithTrailer) copy).hasTrailer = hasTrailer;
+        return copy;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -13,14 +13,25 @@ public final class Car extends AbstractVehicleWithTrailer {
         return VehicleType.CAR;
     }
 
+    @Override
     public boolean isTransportsPassengers() {
         return isTransportsPassengers;
     }
 
     public void setTransportsPassengers(boolean isTransportsPassengers) {
+        if (this.isTransportsPassengers != isTransportsPassengers) {
+            markChanged(VehicleField.IS_TRANSPORTS_PASSENGERS);
+        }
         this.isTransportsPassengers = isTransportsPassengers;
     }
 
+    @Override
+    public Car copy() {
+        Car copy = copyTo(new Car());
+        copy.isTransportsPassengers = isTransportsPassengers;
+        return copy;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -0,0 +1,38 @@
+package home.models;
+
+/**
+ * Read access to one vehicle regardless of how it is stored:
+ * as a data object or as a row of the columnar storage.
+ * <p>
+ * Flags which the vehicle type does not have are always false.
+ */
+public interface IVehicleRow {
+
+    long getId();
+
+    VehicleType getType();
+
+    String getColor();
+
+    String getNumber();
+
+    long getDateTime();
+
+    boolean isMarkedForDelete();
+
+    default boolean hasTrailer() {
+        return false;
+    }
+
+    default boolean isTransportsPassengers() {
+        return false;
+    }
+
+    default boolean isTransportsCargo() {
+        return false;
+    }
+
+    default boolean hasCradle() {
+        return false;
+    }
+}
@@ -13,14 +13,25 @@ public final class Motorcycle extends AbstractVehicle {
         return VehicleType.MOTORCYCLE;
     }
 
+    @Override
     public boolean hasCradle() {
         return hasCradle;
     }
 
     public void setHasCradle(boolean hasCradle) {
+        if (this.hasCradle != hasCradle) {
+            markChanged(VehicleField.HAS_CRADLE);
+        }
         this.hasCradle = hasCradle;
     }
 
+    @Override
+    public Motorcycle copy() {
+        Motorcycle copy = copyTo(new Motorcycle());
+        copy.hasCradle = hasCradle;
+        return copy;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -13,14 +13,25 @@ public final class Truck extends AbstractVehicleWithTrailer {
         return VehicleType.TRUCK;
     }
 
+    @Override
     public boolean isTransportsCargo() {
         return isTransportsCargo;
     }
 
     public void setTransportsCargo(boolean isTransportsCargo) {
+        if (this.isTransportsCargo != isTransportsCargo) {
+            markChanged(VehicleField.IS_TRANSPORTS_CARGO);
+        }
         this.isTransportsCargo = isTransportsCargo;
     }
 
+    @Override
+    public Truck copy() {
+        Truck copy = copyTo(new Truck());
+        copy.isTransportsCargo = isTransportsCargo;
+        return copy;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
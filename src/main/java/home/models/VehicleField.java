@@ -0,0 +1,16 @@
+package home.models;
+
+/**
+ * Saved fields of the vehicle (columns of the DB table except id).
+ */
+public enum VehicleField {
+
+    TYPE,
+    COLOR,
+    NUMBER,
+    DATE_TIME,
+    IS_TRANSPORTS_CARGO,
+    IS_TRANSPORTS_PASSENGERS,
+    HAS_TRAILER,
+    HAS_CRADLE;
+}
@@ -0,0 +1,284 @@
+package home.storage;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import home.models.AbstractVehicle;
+import home.models.AbstractVehicleWithTrailer;
+import home.models.Car;
+import home.models.IVehicleRow;
+import home.models.Motorcycle;
+import home.models.Truck;
+import home.models.VehicleType;
+
+/**
+ * Columnar (struct of arrays) storage of vehicles for big read-mostly data sets.
+ * <p>
+ * Instead of one object per vehicle the values are kept in primitive columns:
+ * id and date time in {@code long[]}, type ordinal in {@code byte[]}, flags in packed
+ * bit sets and colors as codes of a dictionary. Rows are exposed as lightweight
+ * {@link IVehicleRow} views, so the table model and the DAO can work with them
+ * without creating data objects. A view is bound to the position of the row.
+ * <p>
+ * The store is only appended while it is filled, it is not changed after it is published
+ * (the columnar mode of Storage is read-only), so its rows can be read by any thread.
+ */
+public final class ColumnarVehicleStore extends AbstractList<IVehicleRow> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private static final VehicleType[] TYPES = VehicleType.values();
+
+    private static final int HAS_TRAILER = 0;
+    private static final int IS_TRANSPORTS_PASSENGERS = 1;
+    private static final int IS_TRANSPORTS_CARGO = 2;
+    private static final int HAS_CRADLE = 3;
+    private static final int IS_MARKED_FOR_DELETE = 4;
+    private static final int FLAGS_COUNT = 5;
+
+    private long[] ids;
+    private long[] dateTimes;
+    private byte[] types;
+    private int[] colorCodes;
+    private String[] numbers;
+    private final long[][] flags = new long[FLAGS_COUNT][];
+
+    private final Map<String, Integer> colorCodesByColor = new HashMap<>();
+    private String[] colors = new String[DEFAULT_CAPACITY];
+    private int colorsCount;
+
+    private int size;
+
+    public ColumnarVehicleStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ColumnarVehicleStore(int capacity) {
+        capacity = Math.max(capacity, 1);
+        ids = new long[capacity];
+        dateTimes = new long[capacity];
+        types = new byte[capacity];
+        colorCodes = new int[capacity];
+        numbers = new String[capacity];
+        for (int flag = 0; flag < FLAGS_COUNT; flag++) {
+            flags[flag] = new long[wordsCount(capacity)];
+        }
+    }
+
+    public static ColumnarVehicleStore of(List<? extends IVehicleRow> rows) {
+        var store = new ColumnarVehicleStore(rows.size());
+        for (IVehicleRow row : rows) {
+            store.add(row);
+        }
+        return store;
+    }
+
+    @Override
+    public IVehicleRow get(int row) {
+        Objects.checkIndex(row, size);
+        return new RowView(row);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(IVehicleRow row) {
+        ensureCapacity(size + 1);
+        size++;
+        write(size - 1, row);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Creates the data object with the values of the row.
+     */
+    public AbstractVehicle toDataObj(int row) {
+        Objects.checkIndex(row, size);
+        AbstractVehicle dataObj = switch (TYPES[types[row]]) {
+            case CAR -> {
+                var car = new Car();
+                car.setTransportsPassengers(getFlag(IS_TRANSPORTS_PASSENGERS, row));
+                yield car;
+            }
+            case TRUCK -> {
+                var truck = new Truck();
+                truck.setTransportsCargo(getFlag(IS_TRANSPORTS_CARGO, row));
+                yield truck;
+            }
+            case MOTORCYCLE -> {
+                var motorcycle = new Motorcycle();
+                motorcycle.setHasCradle(getFlag(HAS_CRADLE, row));
+                yield motorcycle;
+            }
+        };
+
+        if (dataObj instanceof AbstractVehicleWithTrailer vehicleWithTrailer) {
+            vehicleWithTrailer.setHasTrailer(getFlag(HAS_TRAILER, row));
+        }
+        dataObj.setId(ids[row]);
+        dataObj.setColor(colors[colorCodes[row]]);
+        dataObj.setNumber(numbers[row]);
+        dataObj.setDateTime(dateTimes[row]);
+        dataObj.setMarkedForDelete(getFlag(IS_MARKED_FOR_DELETE, row));
+        return dataObj;
+    }
+
+    /**
+     * @return view of the rows as data objects, they are created on each access
+     *         (for the code which needs data objects, e.g. export).
+     */
+    public List<AbstractVehicle> asDataObjs() {
+        return new AbstractList<>() {
+            @Override
+            public AbstractVehicle get(int row) {
+                return toDataObj(row);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * @return count of different colors in the dictionary.
+     */
+    public int getColorsCount() {
+        return colorsCount;
+    }
+
+    private void write(int row, IVehicleRow source) {
+        ids[row] = source.getId();
+        dateTimes[row] = source.getDateTime();
+        types[row] = (byte) source.getType().ordinal();
+        colorCodes[row] = encodeColor(source.getColor());
+        numbers[row] = source.getNumber();
+        setFlag(HAS_TRAILER, row, source.hasTrailer());
+        setFlag(IS_TRANSPORTS_PASSENGERS, row, source.isTransportsPassengers());
+        setFlag(IS_TRANSPORTS_CARGO, row, source.isTransportsCargo());
+        setFlag(HAS_CRADLE, row, source.hasCradle());
+        setFlag(IS_MARKED_FOR_DELETE, row, source.isMarkedForDelete());
+    }
+
+    private int encodeColor(String color) {
+        Integer code = colorCodesByColor.get(color);
+        if (code != null) {
+            return code;
+        }
+
+        if (colorsCount == colors.length) {
+            colors = Arrays.copyOf(colors, colorsCount * 2);
+        }
+        colors[colorsCount] = color;
+        colorCodesByColor.put(color, colorsCount);
+        return colorsCount++;
+    }
+
+    private boolean getFlag(int flag, int row) {
+        return (flags[flag][row >>> 6] & (1L << row)) != 0;
+    }
+
+    private void setFlag(int flag, int row, boolean value) {
+        if (value) {
+            flags[flag][row >>> 6] |= 1L << row;
+        } else {
+            flags[flag][row >>> 6] &= ~(1L << row);
+        }
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        int capacity = ids.length;
+        if (minCapacity <= capacity) {
+            return;
+        }
+
+        int newCapacity = Math.max(minCapacity, capacity + (capacity >> 1));
+        ids = Arrays.copyOf(ids, newCapacity);
+        dateTimes = Arrays.copyOf(dateTimes, newCapacity);
+        types = Arrays.copyOf(types, newCapacity);
+        colorCodes = Arrays.copyOf(colorCodes, newCapacity);
+        numbers = Arrays.copyOf(numbers, newCapacity);
+        for (int flag = 0; flag < FLAGS_COUNT; flag++) {
+            flags[flag] = Arrays.copyOf(flags[flag], wordsCount(newCapacity));
+        }
+    }
+
+    private static int wordsCount(int capacity) {
+        return (capacity + Long.SIZE - 1) >>> 6;
+    }
+
+    private final class RowView implements IVehicleRow {
+
+        private final int row;
+
+        private RowView(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public long getId() {
+            return ids[row];
+        }
+
+        @Override
+        public VehicleType getType() {
+            return TYPES[types[row]];
+        }
+
+        @Override
+        public String getColor() {
+            return colors[colorCodes[row]];
+        }
+
+        @Override
+        public String getNumber() {
+            return numbers[row];
+        }
+
+        @Override
+        public long getDateTime() {
+            return dateTimes[row];
+        }
+
+        @Override
+        public boolean isMarkedForDelete() {
+            return getFlag(IS_MARKED_FOR_DELETE, row);
+        }
+
+        @Override
+        public boolean hasTrailer() {
+            return getFlag(HAS_TRAILER, row);
+        }
+
+        @Override
+        public boolean isTransportsPassengers() {
+            return getFlag(IS_TRANSPORTS_PASSENGERS, row);
+        }
+
+        @Override
+        public boolean isTransportsCargo() {
+            return getFlag(IS_TRANSPORTS_CARGO, row);
+        }
+
+        @Override
+        public boolean hasCradle() {
+            return getFlag(HAS_CRADLE, row);
+        }
+
+        @Override
+        public String toString() {
+            return "VehicleRow [row=" + row + ", id=" + getId() + ", type=" + getType()
+                    + ", color=" + getColor() + ", number=" + getNumber() + "]";
+        }
+    }
+}
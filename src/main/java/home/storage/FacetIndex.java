@@ -0,0 +1,144 @@
+package home.storage;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import home.models.AbstractVehicle;
+import home.models.IVehicleRow;
+import home.models.VehicleType;
+
+/**
+ * Bitmap facet index: value of attribute (type, color, flag) -> bitmap of rows.
+ * <p>
+ * Filters by several attributes are evaluated as AND/OR/AND NOT of the bitmaps and
+ * facet counts are cardinalities of the bitmaps, without scan of the rows.
+ * Returned bitmaps must not be kept after change of the storage.
+ */
+public final class FacetIndex implements IRowIndex {
+
+    public enum Flag {
+        HAS_TRAILER(IVehicleRow::hasTrailer),
+        TRANSPORTS_PASSENGERS(IVehicleRow::isTransportsPassengers),
+        TRANSPORTS_CARGO(IVehicleRow::isTransportsCargo),
+        HAS_CRADLE(IVehicleRow::hasCradle),
+        MARKED_FOR_DELETE(IVehicleRow::isMarkedForDelete);
+
+        private final Predicate<IVehicleRow> getter;
+
+        Flag(Predicate<IVehicleRow> getter) {
+            this.getter = getter;
+        }
+
+        public boolean isSet(IVehicleRow dataObj) {
+            return getter.test(dataObj);
+        }
+    }
+
+    private static final RowBitmap NO_ROWS = new RowBitmap();
+
+    private final Map<VehicleType, RowBitmap> rowsByType = new EnumMap<>(VehicleType.class);
+    private final Map<String, RowBitmap> rowsByColor = new HashMap<>();
+    private final Map<Flag, RowBitmap> rowsByFlag = new EnumMap<>(Flag.class);
+
+    @Override
+    public void clear() {
+        rowsByType.clear();
+        rowsByColor.clear();
+        rowsByFlag.clear();
+    }
+
+    @Override
+    public void add(int row, AbstractVehicle dataObj) {
+        rowsByType.computeIfAbsent(dataObj.getType(), type -> new RowBitmap()).add(row);
+        if (dataObj.getColor() != null) {
+            rowsByColor.computeIfAbsent(dataObj.getColor(), color -> new RowBitmap()).add(row);
+        }
+        for (Flag flag : Flag.values()) {
+            if (flag.isSet(dataObj)) {
+                rowsByFlag.computeIfAbsent(flag, f -> new RowBitmap()).add(row);
+            }
+        }
+    }
+
+    @Override
+    public void update(int row, AbstractVehicle oldDataObj, AbstractVehicle newDataObj) {
+        if (oldDataObj.getType() != newDataObj.getType()) {
+            remove(rowsByType, oldDataObj.getType(), row);
+            rowsByType.computeIfAbsent(newDataObj.getType(), type -> new RowBitmap()).add(row);
+        }
+
+        String oldColor = oldDataObj.getColor();
+        String newColor = newDataObj.getColor();
+        if (oldColor == null ? newColor != null : !oldColor.equals(newColor)) {
+            if (oldColor != null) {
+                remove(rowsByColor, oldColor, row);
+            }
+            if (newColor != null) {
+                rowsByColor.computeIfAbsent(newColor, color -> new RowBitmap()).add(row);
+            }
+        }
+
+        for (Flag flag : Flag.values()) {
+            boolean isSet = flag.isSet(newDataObj);
+            if (flag.isSet(oldDataObj) == isSet) {
+                continue;
+            }
+            if (isSet) {
+                rowsByFlag.computeIfAbsent(flag, f -> new RowBitmap()).add(row);
+            } else {
+                remove(rowsByFlag, flag, row);
+            }
+        }
+    }
+
+    public RowBitmap getRows(VehicleType type) {
+        return rowsByType.getOrDefault(type, NO_ROWS);
+    }
+
+    public RowBitmap getRowsByColor(String color) {
+        return rowsByColor.getOrDefault(color, NO_ROWS);
+    }
+
+    public RowBitmap getRows(Flag flag) {
+        return rowsByFlag.getOrDefault(flag, NO_ROWS);
+    }
+
+    public int count(VehicleType type) {
+        return getRows(type).cardinality();
+    }
+
+    public int countByColor(String color) {
+        return getRowsByColor(color).cardinality();
+    }
+
+    public int count(Flag flag) {
+        return getRows(flag).cardinality();
+    }
+
+    /**
+     * @return counts of the rows by colors in the rows of the filter (facet counts of the colors).
+     */
+    public Map<String, Integer> countByColors(RowBitmap filter) {
+        var counts = new HashMap<String, Integer>();
+        rowsByColor.forEach((color, rows) -> {
+            int count = rows.and(filter).cardinality();
+            if (count > 0) {
+                counts.put(color, count);
+            }
+        });
+        return Collections.unmodifiableMap(counts);
+    }
+
+    private static <K> void remove(Map<K, RowBitmap> rowsByKey, K key, int row) {
+        RowBitmap rows = rowsByKey.get(key);
+        if (rows != null) {
+            rows.remove(row);
+            if (rows.isEmpty()) {
+                rowsByKey.remove(key);
+            }
+        }
+    }
+}
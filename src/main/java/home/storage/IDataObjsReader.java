@@ -0,0 +1,17 @@
+package home.storage;
+
+import java.util.function.Consumer;
+
+import home.models.AbstractVehicle;
+
+/**
+ * Source of data objects which passes them one by one as they are read (e.g. from the DB),
+ * so they are not collected in one more list.
+ *
+ * @param <E> exception of the reading
+ */
+@FunctionalInterface
+public interface IDataObjsReader<E extends Exception> {
+
+    void read(Consumer<AbstractVehicle> consumer) throws E;
+}
@@ -0,0 +1,27 @@
+package home.storage;
+
+import java.util.List;
+
+import home.models.AbstractVehicle;
+
+/**
+ * Reader of the data objects by pages in order of id.
+ *
+ * @param <E> exception of the reading
+ */
+public interface IPageReader<E extends Exception> {
+
+    /**
+     * Keyset pagination: the cost does not depend on position of the page.
+     *
+     * @return up to limit data objects with id &gt; afterId in order of id.
+     */
+    List<AbstractVehicle> readPage(long afterId, int limit) throws E;
+
+    /**
+     * Offset pagination, it is used when id before the page is unknown (e.g. jump to the end).
+     *
+     * @return up to limit data objects from the position in order of id.
+     */
+    List<AbstractVehicle> readPageAt(long offset, int limit) throws E;
+}
@@ -0,0 +1,32 @@
+package home.storage;
+
+import java.util.List;
+
+import home.models.AbstractVehicle;
+
+/**
+ * Index over the rows of the storage.
+ * <p>
+ * Rows are positions of the data objects in the storage. Appends and in-place updates
+ * keep positions of other rows, so they are applied incrementally. Removal shifts
+ * positions, so after it the index is rebuilt.
+ */
+public interface IRowIndex {
+
+    void clear();
+
+    void add(int row, AbstractVehicle dataObj);
+
+    /**
+     * @param oldDataObj data object which was at the row before the update
+     *                   (data objects are not changed in place, so it is another instance).
+     */
+    void update(int row, AbstractVehicle oldDataObj, AbstractVehicle newDataObj);
+
+    default void rebuild(List<AbstractVehicle> dataObjs) {
+        clear();
+        for (int row = 0; row < dataObjs.size(); row++) {
+            add(row, dataObjs.get(row));
+        }
+    }
+}
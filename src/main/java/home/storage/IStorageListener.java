@@ -0,0 +1,11 @@
+package home.storage;
+
+/**
+ * Listener of the row changes of the storage. It is called in the thread,
+ * which changed the storage.
+ */
+@FunctionalInterface
+public interface IStorageListener {
+
+    void storageChanged(StorageEvent event);
+}
@@ -0,0 +1,82 @@
+package home.storage;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints (rows), it is used as a bucket by the storage indexes.
+ */
+public final class IntList {
+
+    private static final int DEFAULT_CAPACITY = 4;
+
+    private int[] values;
+    private int size;
+
+    public IntList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntList(int capacity) {
+        values = new int[Math.max(capacity, 1)];
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + Math.max(size >> 1, 1));
+        }
+        values[size++] = value;
+    }
+
+    public void addAll(IntList other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(size + other.size, size + (size >> 1)));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+    }
+
+    public int get(int idx) {
+        if (idx >= size) {
+            throw new IndexOutOfBoundsException("Index %d out of bounds for size %d".formatted(idx, size));
+        }
+        return values[idx];
+    }
+
+    /**
+     * Removes the first occurrence of the value.
+     *
+     * @return true if the value was found
+     */
+    public boolean removeValue(int value) {
+        for (int idx = 0; idx < size; idx++) {
+            if (values[idx] == value) {
+                System.arraycopy(values, idx + 1, values, idx, size - idx - 1);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    public int[] toSortedArray() {
+        int[] array = toArray();
+        Arrays.sort(array);
+        return array;
+    }
+}
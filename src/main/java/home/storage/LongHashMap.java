@@ -0,0 +1,225 @@
+package home.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Map with primitive long keys (ids) with open addressing and linear probing.
+ * <p>
+ * Unlike {@code HashMap<Long, V>} it keeps neither boxed keys nor entry objects.
+ * Null values are not supported.
+ */
+public final class LongHashMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long EMPTY = 0L;
+
+    // 0 is used as the marker of an empty slot, so its value is kept out of the table
+    private long[] keys;
+    private Object[] values;
+    private Object zeroValue;
+    private int size;
+
+    public LongHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongHashMap(int expectedSize) {
+        int capacity = tableSizeFor(expectedSize);
+        keys = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * @return previous value of the key or null.
+     */
+    public V put(long key, V value) {
+        if (key == EMPTY) {
+            V oldValue = getZeroValue();
+            if (oldValue == null) {
+                size++;
+            }
+            zeroValue = value;
+            return oldValue;
+        }
+
+        int slot = findSlot(keys, key);
+        if (keys[slot] == key) {
+            V oldValue = getValue(slot);
+            values[slot] = value;
+            return oldValue;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * The value is set only if the map has the key.
+     *
+     * @return previous value of the key or null (the map has not the key).
+     */
+    public V replace(long key, V value) {
+        if (key == EMPTY) {
+            V oldValue = getZeroValue();
+            if (oldValue != null) {
+                zeroValue = value;
+            }
+            return oldValue;
+        }
+
+        int slot = findSlot(keys, key);
+        if (keys[slot] != key) {
+            return null;
+        }
+
+        V oldValue = getValue(slot);
+        values[slot] = value;
+        return oldValue;
+    }
+
+    public V get(long key) {
+        if (key == EMPTY) {
+            return getZeroValue();
+        }
+
+        int slot = findSlot(keys, key);
+        return keys[slot] == key ? getValue(slot) : null;
+    }
+
+    /**
+     * @return removed value or null.
+     */
+    public V remove(long key) {
+        if (key == EMPTY) {
+            V oldValue = getZeroValue();
+            if (oldValue != null) {
+                zeroValue = null;
+                size--;
+            }
+            return oldValue;
+        }
+
+        int slot = findSlot(keys, key);
+        if (keys[slot] != key) {
+            return null;
+        }
+
+        V oldValue = getValue(slot);
+        keys[slot] = EMPTY;
+        values[slot] = null;
+        size--;
+        shiftBack(slot);
+        return oldValue;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        zeroValue = null;
+        size = 0;
+    }
+
+    /**
+     * @return new list of the values (in no particular order).
+     */
+    public List<V> values() {
+        var list = new ArrayList<V>(size);
+        if (zeroValue != null) {
+            list.add(getZeroValue());
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                list.add(getValue(slot));
+            }
+        }
+        return list;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V getValue(int slot) {
+        return (V) values[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V getZeroValue() {
+        return (V) zeroValue;
+    }
+
+    /**
+     * After removal the following entries of the probe chain are moved back,
+     * so the chain has no holes and no tombstones are needed.
+     */
+    private void shiftBack(int freeSlot) {
+        int mask = keys.length - 1;
+        int slot = freeSlot;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == EMPTY) {
+                return;
+            }
+
+            int homeSlot = hash(key) & mask;
+            // move the entry if its home slot is not in the range (freeSlot, slot]
+            boolean isHomeBetween = freeSlot <= slot
+                    ? freeSlot < homeSlot && homeSlot <= slot
+                    : freeSlot < homeSlot || homeSlot <= slot;
+            if (!isHomeBetween) {
+                keys[freeSlot] = key;
+                values[freeSlot] = values[slot];
+                keys[slot] = EMPTY;
+                values[slot] = null;
+                freeSlot = slot;
+            }
+        }
+    }
+
+    private void resize(int newCapacity) {
+        long[] newKeys = new long[newCapacity];
+        Object[] newValues = new Object[newCapacity];
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                int newSlot = findSlot(newKeys, keys[slot]);
+                newKeys[newSlot] = keys[slot];
+                newValues[newSlot] = values[slot];
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+    }
+
+    private static int findSlot(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(long key) {
+        // Fibonacci hashing spreads sequential ids over the table
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, DEFAULT_CAPACITY / 2) * 2 - 1) << 1;
+        return Math.max(capacity, DEFAULT_CAPACITY);
+    }
+}
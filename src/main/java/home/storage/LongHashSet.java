@@ -0,0 +1,199 @@
+package home.storage;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Set of primitive longs (ids) with open addressing and linear probing.
+ * <p>
+ * Unlike {@code HashSet<Long>} it keeps neither boxed values nor entry objects,
+ * and it is iterated without boxing.
+ */
+public final class LongHashSet {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long EMPTY = 0L;
+
+    // 0 is used as the marker of an empty slot, so it is kept out of the table
+    private long[] slots;
+    private boolean hasZero;
+    private int size;
+
+    public LongHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        slots = new long[tableSizeFor(expectedSize)];
+    }
+
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+
+        int slot = findSlot(slots, value);
+        if (slots[slot] == value) {
+            return false;
+        }
+
+        slots[slot] = value;
+        size++;
+        if (size * 2 > slots.length) {
+            resize(slots.length * 2);
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return hasZero;
+        }
+        return slots[findSlot(slots, value)] == value;
+    }
+
+    public boolean remove(long value) {
+        if (value == EMPTY) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            size--;
+            return true;
+        }
+
+        int slot = findSlot(slots, value);
+        if (slots[slot] != value) {
+            return false;
+        }
+
+        slots[slot] = EMPTY;
+        size--;
+        shiftBack(slot);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, EMPTY);
+        hasZero = false;
+        size = 0;
+    }
+
+    public long[] toArray() {
+        var array = new long[size];
+        int idx = 0;
+        PrimitiveIterator.OfLong iterator = iterator();
+        while (iterator.hasNext()) {
+            array[idx++] = iterator.nextLong();
+        }
+        return array;
+    }
+
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+
+            private boolean isZeroReturned = !hasZero;
+            private int slot = nextSlot(0);
+
+            @Override
+            public boolean hasNext() {
+                return !isZeroReturned || slot < slots.length;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!isZeroReturned) {
+                    isZeroReturned = true;
+                    return EMPTY;
+                }
+
+                if (slot >= slots.length) {
+                    throw new NoSuchElementException();
+                }
+
+                long value = slots[slot];
+                slot = nextSlot(slot + 1);
+                return value;
+            }
+        };
+    }
+
+    private int nextSlot(int from) {
+        int slot = from;
+        while (slot < slots.length && slots[slot] == EMPTY) {
+            slot++;
+        }
+        return slot;
+    }
+
+    /**
+     * After removal the following values of the probe chain are moved back,
+     * so the chain has no holes and no tombstones are needed.
+     */
+    private void shiftBack(int freeSlot) {
+        int mask = slots.length - 1;
+        int slot = freeSlot;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long value = slots[slot];
+            if (value == EMPTY) {
+                return;
+            }
+
+            int homeSlot = hash(value) & mask;
+            // move the value if its home slot is not in the range (freeSlot, slot]
+            boolean isHomeBetween = freeSlot <= slot
+                    ? freeSlot < homeSlot && homeSlot <= slot
+                    : freeSlot < homeSlot || homeSlot <= slot;
+            if (!isHomeBetween) {
+                slots[freeSlot] = value;
+                slots[slot] = EMPTY;
+                freeSlot = slot;
+            }
+        }
+    }
+
+    private void resize(int newCapacity) {
+        long[] newSlots = new long[newCapacity];
+        for (long value : slots) {
+            if (value != EMPTY) {
+                newSlots[findSlot(newSlots, value)] = value;
+            }
+        }
+        slots = newSlots;
+    }
+
+    private static int findSlot(long[] slots, long value) {
+        int mask = slots.length - 1;
+        int slot = hash(value) & mask;
+        while (slots[slot] != EMPTY && slots[slot] != value) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(long value) {
+        // Fibonacci hashing spreads sequential ids over the table
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, DEFAULT_CAPACITY / 2) * 2 - 1) << 1;
+        return Math.max(capacity, DEFAULT_CAPACITY);
+    }
+}
@@ -0,0 +1,55 @@
+package home.storage;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import home.models.AbstractVehicle;
+
+/**
+ * Hash index: number (plate) -> rows.
+ */
+public final class NumberIndex implements IRowIndex {
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private final Map<String, IntList> rowsByNumber = new HashMap<>();
+
+    @Override
+    public void clear() {
+        rowsByNumber.clear();
+    }
+
+    @Override
+    public void add(int row, AbstractVehicle dataObj) {
+        String number = dataObj.getNumber();
+        if (number != null) {
+            rowsByNumber.computeIfAbsent(number, key -> new IntList(1)).add(row);
+        }
+    }
+
+    @Override
+    public void update(int row, AbstractVehicle oldDataObj, AbstractVehicle newDataObj) {
+        if (Objects.equals(oldDataObj.getNumber(), newDataObj.getNumber())) {
+            return;
+        }
+        remove(row, oldDataObj.getNumber());
+        add(row, newDataObj);
+    }
+
+    private void remove(int row, String number) {
+        if (number == null) {
+            return;
+        }
+
+        IntList rows = rowsByNumber.get(number);
+        if (rows != null && rows.removeValue(row) && rows.isEmpty()) {
+            rowsByNumber.remove(number);
+        }
+    }
+
+    public int[] find(String number) {
+        IntList rows = rowsByNumber.get(number);
+        return rows == null ? NO_ROWS : rows.toSortedArray();
+    }
+}
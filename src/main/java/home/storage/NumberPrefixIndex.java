@@ -0,0 +1,242 @@
+package home.storage;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Objects;
+
+import home.models.AbstractVehicle;
+
+/**
+ * Radix trie index: prefix of number (plate) -> rows.
+ * <p>
+ * Search is O(prefix length + count of matched rows), it does not depend
+ * on count of all numbers, count of matched rows is O(prefix length).
+ * Numbers are compared case-insensitively.
+ * Nodes are not merged back after removal of a number, they are dropped on rebuild.
+ */
+public final class NumberPrefixIndex implements IRowIndex {
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private Node root = new Node("");
+
+    @Override
+    public void clear() {
+        root = new Node("");
+    }
+
+    @Override
+    public void add(int row, AbstractVehicle dataObj) {
+        String key = toKey(dataObj.getNumber());
+        if (key == null) {
+            return;
+        }
+
+        Node node = root;
+        node.rowsCount++;
+        int pos = 0;
+        while (pos < key.length()) {
+            int childIdx = node.indexOfChild(key.charAt(pos));
+            if (childIdx < 0) {
+                node.insertChild(-childIdx - 1, new Node(key.substring(pos)));
+                node = node.children[-childIdx - 1];
+                node.rowsCount++;
+                break;
+            }
+
+            Node child = node.children[childIdx];
+            int commonLength = commonPrefixLength(child.label, key, pos);
+            if (commonLength < child.label.length()) {
+                // split the edge: node -> middle -> child
+                var middle = new Node(child.label.substring(0, commonLength));
+                middle.rowsCount = child.rowsCount;
+                child.label = child.label.substring(commonLength);
+                middle.children = new Node[]{child};
+                node.children[childIdx] = middle;
+                child = middle;
+            }
+            node = child;
+            node.rowsCount++;
+            pos += commonLength;
+        }
+        if (node.rows == null) {
+            node.rows = new IntList(1);
+        }
+        node.rows.add(row);
+    }
+
+    @Override
+    public void update(int row, AbstractVehicle oldDataObj, AbstractVehicle newDataObj) {
+        if (Objects.equals(oldDataObj.getNumber(), newDataObj.getNumber())) {
+            return;
+        }
+
+        String oldKey = toKey(oldDataObj.getNumber());
+        if (oldKey != null) {
+            Node node = findNode(oldKey, true);
+            if (node != null && node.rows != null && node.rows.removeValue(row)) {
+                decrementRowsCounts(oldKey);
+            }
+        }
+        add(row, newDataObj);
+    }
+
+    /**
+     * @return count of the data objects with number starting with the prefix,
+     *         O(prefix length).
+     */
+    public int countByPrefix(String prefix) {
+        String key = toKey(prefix);
+        Node prefixNode = key == null ? null : findNode(key, false);
+        return prefixNode == null ? 0 : prefixNode.rowsCount;
+    }
+
+    /**
+     * @return first (limit) rows of the data objects with number starting with the prefix
+     *         in order of the numbers, the search stops after the limit.
+     */
+    public int[] findByPrefix(String prefix, int limit) {
+        String key = toKey(prefix);
+        Node prefixNode = key == null ? null : findNode(key, false);
+        if (prefixNode == null || limit <= 0) {
+            return NO_ROWS;
+        }
+
+        var rows = new IntList(Math.min(limit, prefixNode.rowsCount));
+        Deque<Node> nodes = new ArrayDeque<>();
+        nodes.push(prefixNode);
+        while (!nodes.isEmpty() && rows.size() < limit) {
+            Node node = nodes.pop();
+            if (node.rows != null) {
+                for (int i = 0; i < node.rows.size() && rows.size() < limit; i++) {
+                    rows.add(node.rows.get(i));
+                }
+            }
+            // the smallest child is on the top of the stack
+            for (int i = node.children.length - 1; i >= 0; i--) {
+                nodes.push(node.children[i]);
+            }
+        }
+        return rows.toArray();
+    }
+
+    /**
+     * @return rows of the data objects with number starting with the prefix
+     *         in ascending order.
+     */
+    public int[] findByPrefix(String prefix) {
+        String key = toKey(prefix);
+        if (key == null) {
+            return NO_ROWS;
+        }
+
+        Node prefixNode = findNode(key, false);
+        if (prefixNode == null) {
+            return NO_ROWS;
+        }
+
+        var rows = new IntList();
+        Deque<Node> nodes = new ArrayDeque<>();
+        nodes.push(prefixNode);
+        while (!nodes.isEmpty()) {
+            Node node = nodes.pop();
+            if (node.rows != null) {
+                rows.addAll(node.rows);
+            }
+            for (Node child : node.children) {
+                nodes.push(child);
+            }
+        }
+        return rows.toSortedArray();
+    }
+
+    /**
+     * @param isExact if false, the key may end inside the label of the found node.
+     */
+    private Node findNode(String key, boolean isExact) {
+        Node node = root;
+        int pos = 0;
+        while (pos < key.length()) {
+            int childIdx = node.indexOfChild(key.charAt(pos));
+            if (childIdx < 0) {
+                return null;
+            }
+
+            Node child = node.children[childIdx];
+            int commonLength = commonPrefixLength(child.label, key, pos);
+            if (commonLength < child.label.length()) {
+                return !isExact && pos + commonLength == key.length() ? child : null;
+            }
+            node = child;
+            pos += commonLength;
+        }
+        return node;
+    }
+
+    private void decrementRowsCounts(String key) {
+        Node node = root;
+        node.rowsCount--;
+        int pos = 0;
+        while (pos < key.length()) {
+            node = node.children[node.indexOfChild(key.charAt(pos))];
+            node.rowsCount--;
+            pos += node.label.length();
+        }
+    }
+
+    private static String toKey(String number) {
+        return number == null ? null : number.strip().toUpperCase(Locale.ROOT);
+    }
+
+    private static int commonPrefixLength(String label, String key, int keyPos) {
+        int maxLength = Math.min(label.length(), key.length() - keyPos);
+        int length = 0;
+        while (length < maxLength && label.charAt(length) == key.charAt(keyPos + length)) {
+            length++;
+        }
+        return length;
+    }
+
+    private static final class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private String label;
+        // sorted by the first char of the label
+        private Node[] children = NO_CHILDREN;
+        // inner nodes without own numbers have no rows
+        private IntList rows;
+        // count of rows in the subtree (with own rows)
+        private int rowsCount;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private int indexOfChild(char firstChar) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midChar = children[mid].label.charAt(0);
+                if (midChar < firstChar) {
+                    low = mid + 1;
+                } else if (midChar > firstChar) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void insertChild(int idx, Node child) {
+            Node[] newChildren = Arrays.copyOf(children, children.length + 1);
+            System.arraycopy(children, idx, newChildren, idx + 1, children.length - idx);
+            newChildren[idx] = child;
+            children = newChildren;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package home.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import home.models.AbstractVehicle;
+
+/**
+ * Trigram inverted index: trigram of number (plate) -> rows, it is used to find numbers
+ * with typos (by edit distance).
+ * <p>
+ * One edit destroys at most 3 trigrams, so number with edit distance &lt;= k to the searched
+ * one has at least (trigrams count - 3k) common trigrams with it. Only rows with enough
+ * common trigrams are checked by the (bounded) edit distance, instead of all rows.
+ * Numbers are compared case-insensitively.
+ */
+public final class NumberTrigramIndex implements IRowIndex {
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private static final int GRAM_LENGTH = 3;
+    private static final char START_MARK = '^';
+    private static final char END_MARK = '$';
+
+    private final Map<Long, IntList> rowsByTrigram = new HashMap<>();
+    // keys by rows, they are needed to check the candidates
+    private final List<String> keys = new ArrayList<>();
+
+    @Override
+    public void clear() {
+        rowsByTrigram.clear();
+        keys.clear();
+    }
+
+    @Override
+    public void add(int row, AbstractVehicle dataObj) {
+        String key = toKey(dataObj.getNumber());
+        while (keys.size() <= row) {
+            keys.add(null);
+        }
+        keys.set(row, key);
+        if (key == null) {
+            return;
+        }
+
+        for (long trigram : trigrams(key)) {
+            rowsByTrigram.computeIfAbsent(trigram, k -> new IntList(1)).add(row);
+        }
+    }
+
+    @Override
+    public void update(int row, AbstractVehicle oldDataObj, AbstractVehicle newDataObj) {
+        if (Objects.equals(oldDataObj.getNumber(), newDataObj.getNumber())) {
+            return;
+        }
+
+        String oldKey = keys.get(row);
+        if (oldKey != null) {
+            for (long trigram : trigrams(oldKey)) {
+                IntList rows = rowsByTrigram.get(trigram);
+                if (rows != null && rows.removeValue(row) && rows.isEmpty()) {
+                    rowsByTrigram.remove(trigram);
+                }
+            }
+        }
+        add(row, newDataObj);
+    }
+
+    /**
+     * @return up to limit rows of the data objects with number in edit distance &lt;= maxDistance
+     *         to the number, ordered by the distance (closest first), then by row.
+     */
+    public int[] findSimilar(String number, int maxDistance, int limit) {
+        String key = toKey(number);
+        if (key == null || limit <= 0) {
+            return NO_ROWS;
+        }
+
+        long[] trigrams = trigrams(key);
+        int minCommonTrigrams = trigrams.length - GRAM_LENGTH * maxDistance;
+        int[] candidateRows = minCommonTrigrams > 0
+                ? findCandidates(trigrams, minCommonTrigrams)
+                // too short number for the distance: any number can be similar
+                : allRows();
+
+        // distance and row are packed in one long, so sort orders by distance then by row
+        var found = new long[candidateRows.length];
+        int foundCount = 0;
+        for (int row : candidateRows) {
+            String candidateKey = keys.get(row);
+            if (candidateKey == null) {
+                continue;
+            }
+            int distance = editDistance(key, candidateKey, maxDistance);
+            if (distance <= maxDistance) {
+                found[foundCount++] = ((long) distance << 32) | row;
+            }
+        }
+        Arrays.sort(found, 0, foundCount);
+
+        var rows = new int[Math.min(limit, foundCount)];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = (int) found[i];
+        }
+        return rows;
+    }
+
+    /**
+     * Merges the rows of the trigrams (sort and count of equal rows).
+     */
+    private int[] findCandidates(long[] trigrams, int minCommonTrigrams) {
+        var allRows = new IntList();
+        for (long trigram : trigrams) {
+            IntList rows = rowsByTrigram.get(trigram);
+            if (rows != null) {
+                allRows.addAll(rows);
+            }
+        }
+        int[] sortedRows = allRows.toSortedArray();
+
+        var candidateRows = new IntList();
+        int idx = 0;
+        while (idx < sortedRows.length) {
+            int row = sortedRows[idx];
+            int commonTrigrams = 0;
+            while (idx < sortedRows.length && sortedRows[idx] == row) {
+                commonTrigrams++;
+                idx++;
+            }
+            if (commonTrigrams >= minCommonTrigrams) {
+                candidateRows.add(row);
+            }
+        }
+        return candidateRows.toArray();
+    }
+
+    private int[] allRows() {
+        var rows = new int[keys.size()];
+        Arrays.setAll(rows, row -> row);
+        return rows;
+    }
+
+    /**
+     * @return distinct trigrams of the key with start and end marks, each trigram
+     *         is packed in long (3 chars by 16 bits).
+     */
+    private static long[] trigrams(String key) {
+        String markedKey = START_MARK + key + END_MARK;
+        var trigrams = new long[markedKey.length() - GRAM_LENGTH + 1];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) markedKey.charAt(i) << 32)
+                    | ((long) markedKey.charAt(i + 1) << 16)
+                    | markedKey.charAt(i + 2);
+        }
+        return Arrays.stream(trigrams).distinct().toArray();
+    }
+
+    /**
+     * Levenshtein distance, computing is stopped when the distance is greater than maxDistance.
+     *
+     * @return distance or (maxDistance + 1) if the distance is greater than maxDistance
+     */
+    static int editDistance(String first, String second, int maxDistance) {
+        if (Math.abs(first.length() - second.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+
+        var previous = new int[second.length() + 1];
+        var current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= second.length(); j++) {
+                int substitution = previous[j - 1] + (first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+
+            int[] tmp = previous;
+            previous = current;
+            current = tmp;
+        }
+        return Math.min(previous[second.length()], maxDistance + 1);
+    }
+
+    private static String toKey(String number) {
+        return number == null ? null : number.strip().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,87 @@
+package home.storage;
+
+import java.util.AbstractList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import home.models.AbstractVehicle;
+
+/**
+ * Read-only list of the data objects, which are read by pages on access (e.g. when the table
+ * is scrolled). Only the recently used pages are kept in memory (LRU).
+ * <p>
+ * Last id of each read page is kept, so the next page is read by keyset (id &gt; last id),
+ * a page after not read one is read by offset.
+ */
+public final class PagedVehicleList extends AbstractList<AbstractVehicle> implements RandomAccess {
+
+    private final int size;
+    private final int pageSize;
+    private final IPageReader<?> reader;
+
+    // last ids of the pages, 0 - page was not read
+    private final long[] lastIds;
+    private final Map<Integer, List<AbstractVehicle>> pages;
+
+    public PagedVehicleList(int size, int pageSize, int maxPages, IPageReader<?> reader) {
+        this.size = size;
+        this.pageSize = pageSize;
+        this.reader = reader;
+        lastIds = new long[(size + pageSize - 1) / pageSize];
+        pages = new LinkedHashMap<>(maxPages, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<AbstractVehicle>> eldest) {
+                return size() > maxPages;
+            }
+        };
+    }
+
+    /**
+     * @throws IllegalStateException if the page can't be read
+     */
+    @Override
+    public synchronized AbstractVehicle get(int row) {
+        Objects.checkIndex(row, size);
+        int pageIdx = row / pageSize;
+        List<AbstractVehicle> page = pages.get(pageIdx);
+        if (page == null) {
+            page = readPage(pageIdx);
+            pages.put(pageIdx, page);
+        }
+
+        int idx = row % pageSize;
+        if (idx >= page.size()) {
+            throw new IllegalStateException("Row " + row + " is not found, the DB was changed.");
+        }
+        return page.get(idx);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    synchronized int getLoadedPagesCount() {
+        return pages.size();
+    }
+
+    private List<AbstractVehicle> readPage(int pageIdx) {
+        long afterId = pageIdx == 0 ? 0 : lastIds[pageIdx - 1];
+        List<AbstractVehicle> page;
+        try {
+            page = pageIdx == 0 || afterId > 0
+                    ? reader.readPage(afterId, pageSize)
+                    : reader.readPageAt((long) pageIdx * pageSize, pageSize);
+        } catch (Exception e) {
+            throw new IllegalStateException("Error while reading page " + pageIdx, e);
+        }
+
+        if (!page.isEmpty()) {
+            lastIds[pageIdx] = page.get(page.size() - 1).getId();
+        }
+        return page;
+    }
+}
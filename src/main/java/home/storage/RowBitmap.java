@@ -0,0 +1,428 @@
+package home.storage;
+
+import java.util.Arrays;
+
+/**
+ * Compressed bitmap of rows (roaring-style).
+ * <p>
+ * Rows are split into chunks of 65536 rows by the high 16 bits. A chunk keeps the low 16 bits
+ * either as a sorted array (up to 4096 rows, 2 bytes per row) or as a plain bitmap
+ * (8 KB for any count of rows), whichever is smaller. So sparse and dense sets of rows both
+ * take little memory, and AND/OR/AND NOT work chunk by chunk.
+ * <p>
+ * Results of {@link #and}, {@link #or} and {@link #andNot} are new bitmaps, the arguments
+ * are not changed. Only the indexes of this package change the bitmaps.
+ */
+public final class RowBitmap {
+
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_WORDS = (1 << CHUNK_BITS) / Long.SIZE;
+    // bigger array container takes more memory than bitmap container
+    private static final int MAX_ARRAY_CARDINALITY = 4_096;
+    // bitmap container becomes array container only much below the max, so add and remove
+    // of a row at the max do not convert the container each time
+    private static final int MIN_BITMAP_CARDINALITY = MAX_ARRAY_CARDINALITY / 2;
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Container[] NO_CONTAINERS = new Container[0];
+
+    // high 16 bits of the rows of the containers, sorted
+    private char[] keys = NO_KEYS;
+    private Container[] containers = NO_CONTAINERS;
+    private int containersCount;
+
+    public boolean contains(int row) {
+        int idx = indexOfKey((char) (row >>> CHUNK_BITS));
+        return idx >= 0 && containers[idx].contains((char) row);
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < containersCount; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return containersCount == 0;
+    }
+
+    /**
+     * @return rows in ascending order.
+     */
+    public int[] toArray() {
+        var rows = new int[cardinality()];
+        int pos = 0;
+        for (int i = 0; i < containersCount; i++) {
+            pos = containers[i].copyRows(rows, pos, keys[i] << CHUNK_BITS);
+        }
+        return rows;
+    }
+
+    public RowBitmap and(RowBitmap other) {
+        var result = new RowBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < containersCount && j < other.containersCount) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.appendContainer(keys[i], containers[i].and(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public RowBitmap or(RowBitmap other) {
+        var result = new RowBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < containersCount || j < other.containersCount) {
+            if (j == other.containersCount || i < containersCount && keys[i] < other.keys[j]) {
+                result.appendContainer(keys[i], containers[i].copy());
+                i++;
+            } else if (i == containersCount || keys[i] > other.keys[j]) {
+                result.appendContainer(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.appendContainer(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return rows of this bitmap, which are not in the other one.
+     */
+    public RowBitmap andNot(RowBitmap other) {
+        var result = new RowBitmap();
+        int j = 0;
+        for (int i = 0; i < containersCount; i++) {
+            while (j < other.containersCount && other.keys[j] < keys[i]) {
+                j++;
+            }
+            boolean hasOtherContainer = j < other.containersCount && other.keys[j] == keys[i];
+            result.appendContainer(keys[i], hasOtherContainer
+                    ? containers[i].andNot(other.containers[j])
+                    : containers[i].copy());
+        }
+        return result;
+    }
+
+    void add(int row) {
+        char key = (char) (row >>> CHUNK_BITS);
+        int idx = indexOfKey(key);
+        if (idx < 0) {
+            idx = -idx - 1;
+            insertContainer(idx, key, new ArrayContainer());
+        }
+        containers[idx] = containers[idx].add((char) row);
+    }
+
+    void remove(int row) {
+        int idx = indexOfKey((char) (row >>> CHUNK_BITS));
+        if (idx < 0) {
+            return;
+        }
+
+        Container container = containers[idx].remove((char) row);
+        if (container.cardinality() == 0) {
+            removeContainer(idx);
+        } else {
+            containers[idx] = container;
+        }
+    }
+
+    private int indexOfKey(char key) {
+        // rows are mostly appended, so the last container is checked first
+        if (containersCount > 0 && keys[containersCount - 1] == key) {
+            return containersCount - 1;
+        }
+        return Arrays.binarySearch(keys, 0, containersCount, key);
+    }
+
+    private void appendContainer(char key, Container container) {
+        if (container.cardinality() > 0) {
+            insertContainer(containersCount, key, container);
+        }
+    }
+
+    private void insertContainer(int idx, char key, Container container) {
+        if (containersCount == keys.length) {
+            int newLength = Math.max(4, containersCount * 2);
+            keys = Arrays.copyOf(keys, newLength);
+            containers = Arrays.copyOf(containers, newLength);
+        }
+        System.arraycopy(keys, idx, keys, idx + 1, containersCount - idx);
+        System.arraycopy(containers, idx, containers, idx + 1, containersCount - idx);
+        keys[idx] = key;
+        containers[idx] = container;
+        containersCount++;
+    }
+
+    private void removeContainer(int idx) {
+        System.arraycopy(keys, idx + 1, keys, idx, containersCount - idx - 1);
+        System.arraycopy(containers, idx + 1, containers, idx, containersCount - idx - 1);
+        containers[--containersCount] = null;
+    }
+
+    /**
+     * Low 16 bits of the rows of one chunk. Changing methods return the container
+     * which must be used instead of this one (the type of container can be changed).
+     */
+    private abstract static sealed class Container permits ArrayContainer, BitmapContainer {
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract Container copy();
+
+        /**
+         * @return position after the copied rows.
+         */
+        abstract int copyRows(int[] rows, int pos, int base);
+
+        abstract long[] toWords();
+
+        Container and(Container other) {
+            if (this instanceof ArrayContainer array) {
+                return array.filter(other, true);
+            }
+            if (other instanceof ArrayContainer otherArray) {
+                return otherArray.filter(this, true);
+            }
+
+            long[] words = toWords();
+            long[] otherWords = ((BitmapContainer) other).words;
+            for (int i = 0; i < CHUNK_WORDS; i++) {
+                words[i] &= otherWords[i];
+            }
+            return BitmapContainer.of(words);
+        }
+
+        Container or(Container other) {
+            long[] words = toWords();
+            if (other instanceof BitmapContainer otherBitmap) {
+                for (int i = 0; i < CHUNK_WORDS; i++) {
+                    words[i] |= otherBitmap.words[i];
+                }
+            } else {
+                ArrayContainer otherArray = (ArrayContainer) other;
+                for (int i = 0; i < otherArray.cardinality; i++) {
+                    char value = otherArray.values[i];
+                    words[value >>> 6] |= 1L << value;
+                }
+            }
+            return BitmapContainer.of(words);
+        }
+
+        Container andNot(Container other) {
+            if (this instanceof ArrayContainer array) {
+                return array.filter(other, false);
+            }
+
+            long[] words = toWords();
+            long[] otherWords = other.toWords();
+            for (int i = 0; i < CHUNK_WORDS; i++) {
+                words[i] &= ~otherWords[i];
+            }
+            return BitmapContainer.of(words);
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        private char[] values;
+        private int cardinality;
+
+        private ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        private ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            // rows are mostly appended, so the end of the array is checked first
+            int idx = cardinality > 0 && values[cardinality - 1] < value ? -cardinality - 1
+                    : Arrays.binarySearch(values, 0, cardinality, value);
+            if (idx >= 0) {
+                return this;
+            }
+            if (cardinality == MAX_ARRAY_CARDINALITY) {
+                return new BitmapContainer(toWords(), cardinality).add(value);
+            }
+
+            idx = -idx - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(cardinality * 2, MAX_ARRAY_CARDINALITY));
+            }
+            System.arraycopy(values, idx, values, idx + 1, cardinality - idx);
+            values[idx] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int idx = Arrays.binarySearch(values, 0, cardinality, value);
+            if (idx >= 0) {
+                System.arraycopy(values, idx + 1, values, idx, cardinality - idx - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+        }
+
+        @Override
+        int copyRows(int[] rows, int pos, int base) {
+            for (int i = 0; i < cardinality; i++) {
+                rows[pos++] = base | values[i];
+            }
+            return pos;
+        }
+
+        @Override
+        long[] toWords() {
+            var words = new long[CHUNK_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return words;
+        }
+
+        /**
+         * @param isContained true to keep values contained in the other container (AND),
+         *                    false to keep not contained values (AND NOT)
+         */
+        private ArrayContainer filter(Container other, boolean isContained) {
+            var filtered = new char[cardinality];
+            int filteredCount = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i]) == isContained) {
+                    filtered[filteredCount++] = values[i];
+                }
+            }
+            return new ArrayContainer(filtered, filteredCount);
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        /**
+         * @return the smaller container for the words.
+         */
+        private static Container of(long[] words) {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            if (cardinality > MAX_ARRAY_CARDINALITY) {
+                return new BitmapContainer(words, cardinality);
+            }
+
+            var values = new char[cardinality];
+            int idx = 0;
+            for (int i = 0; i < CHUNK_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[idx++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, cardinality);
+        }
+
+        @Override
+        Container add(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) {
+                words[value >>> 6] &= ~bit;
+                cardinality--;
+                if (cardinality < MIN_BITMAP_CARDINALITY) {
+                    return of(words);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        int copyRows(int[] rows, int pos, int base) {
+            for (int i = 0; i < CHUNK_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    rows[pos++] = base | ((i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return pos;
+        }
+
+        @Override
+        long[] toWords() {
+            return words.clone();
+        }
+    }
+}
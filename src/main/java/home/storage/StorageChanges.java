@@ -0,0 +1,28 @@
+package home.storage;
+
+import java.util.List;
+
+import home.models.AbstractVehicle;
+
+/**
+ * Copy of the changes of the storage, which are not saved to the DB yet.
+ * The save works with the copy, so the storage can be changed while the save runs.
+ *
+ * @param dataObjsForUpdate updated data objects (with id) as they are in the storage
+ * @param dataObjsForInsert new data objects (without id) in order of their addition
+ */
+public record StorageChanges(long[] idsForDel, List<AbstractVehicle> dataObjsForUpdate,
+        List<AbstractVehicle> dataObjsForInsert) {
+
+    public StorageChanges {
+        dataObjsForUpdate = List.copyOf(dataObjsForUpdate);
+        dataObjsForInsert = List.copyOf(dataObjsForInsert);
+    }
+
+    /**
+     * @return count of the changed data objects.
+     */
+    public int size() {
+        return idsForDel.length + dataObjsForUpdate.size() + dataObjsForInsert.size();
+    }
+}
@@ -0,0 +1,19 @@
+package home.storage;
+
+/**
+ * Change of the rows of the storage, rows are in range [firstRow, lastRow].
+ */
+public record StorageEvent(Type type, int firstRow, int lastRow) {
+
+    public enum Type {
+        INSERTED,
+        UPDATED,
+        DELETED,
+        // all rows can be changed
+        DATA_CHANGED,
+    }
+
+    public static StorageEvent dataChanged() {
+        return new StorageEvent(Type.DATA_CHANGED, 0, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,44 @@
+package home.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * How the rows of the DB are kept in the storage.
+ * <p>
+ * OBJECTS keeps a data object per row, the rows can be edited. COLUMNAR keeps the rows
+ * in primitive columns (see {@link ColumnarVehicleStore}), it takes less memory,
+ * but the rows are read-only.
+ */
+public enum StorageMode {
+
+    OBJECTS("objects"),
+    COLUMNAR("columnar");
+
+    private static final Logger LOG = LoggerFactory.getLogger(StorageMode.class);
+
+    private final String name;
+
+    StorageMode(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return mode by name or OBJECTS for the unknown name.
+     */
+    public static StorageMode getMode(String name) {
+        for (StorageMode mode : StorageMode.values()) {
+            if (mode.getName().equalsIgnoreCase(name == null ? null : name.strip())) {
+                return mode;
+            }
+        }
+        if (name != null && !name.isBlank()) {
+            LOG.warn("Unknown storage mode '{}', mode '{}' is used.", name, OBJECTS.getName());
+        }
+        return OBJECTS;
+    }
+}
@@ -0,0 +1,204 @@
+package home.storage;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import home.models.AbstractVehicle;
+
+/**
+ * Sorted index: date time -> rows, it is kept in two parallel primitive arrays
+ * (date times and rows) sorted by date time.
+ * <p>
+ * Range search is a binary search, so it is O(log n + count of found rows) without boxing
+ * and tree nodes. Data objects are mostly added in order of date time, such adds are appends.
+ */
+public final class TemporalIndex implements IRowIndex {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int[] NO_ROWS = new int[0];
+
+    private long[] dateTimes = new long[DEFAULT_CAPACITY];
+    private int[] rows = new int[DEFAULT_CAPACITY];
+    private int size;
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public void add(int row, AbstractVehicle dataObj) {
+        insert(dataObj.getDateTime(), row);
+    }
+
+    @Override
+    public void update(int row, AbstractVehicle oldDataObj, AbstractVehicle newDataObj) {
+        long oldDateTime = oldDataObj.getDateTime();
+        if (oldDateTime == newDataObj.getDateTime()) {
+            return;
+        }
+
+        for (int pos = lowerBound(oldDateTime); pos < size && dateTimes[pos] == oldDateTime; pos++) {
+            if (rows[pos] == row) {
+                System.arraycopy(dateTimes, pos + 1, dateTimes, pos, size - pos - 1);
+                System.arraycopy(rows, pos + 1, rows, pos, size - pos - 1);
+                size--;
+                break;
+            }
+        }
+        add(row, newDataObj);
+    }
+
+    /**
+     * Sorts all rows at once, O(n log n), instead of n inserts.
+     */
+    @Override
+    public void rebuild(List<AbstractVehicle> dataObjs) {
+        size = dataObjs.size();
+        dateTimes = new long[Math.max(size, DEFAULT_CAPACITY)];
+        rows = new int[dateTimes.length];
+        boolean isSorted = true;
+        for (int row = 0; row < size; row++) {
+            dateTimes[row] = dataObjs.get(row).getDateTime();
+            rows[row] = row;
+            isSorted &= row == 0 || dateTimes[row - 1] <= dateTimes[row];
+        }
+        if (!isSorted) {
+            sort();
+        }
+    }
+
+    /**
+     * @return rows with date time in range [from, to] ordered by date time.
+     */
+    public int[] findBetween(long from, long to) {
+        if (from > to) {
+            return NO_ROWS;
+        }
+        return Arrays.copyOfRange(rows, lowerBound(from), upperBound(to));
+    }
+
+    /**
+     * @return rows of (count) latest data objects, the latest first.
+     */
+    public int[] findLatest(int count) {
+        var latestRows = new int[Math.max(0, Math.min(count, size))];
+        for (int i = 0; i < latestRows.length; i++) {
+            latestRows[i] = rows[size - 1 - i];
+        }
+        return latestRows;
+    }
+
+    /**
+     * Visits the not empty buckets (day, week, month) with date time in range [from, to]
+     * in order of date time. The visitor gets the first day of the bucket and its rows.
+     */
+    public void forEachBucket(long from, long to, TimeBucket bucket, ZoneId zoneId,
+            BiConsumer<LocalDate, int[]> visitor) {
+        int pos = lowerBound(from);
+        int endPos = upperBound(to);
+        while (pos < endPos) {
+            LocalDate date = Instant.ofEpochMilli(dateTimes[pos]).atZone(zoneId).toLocalDate();
+            LocalDate bucketStart = bucket.getStart(date);
+            long nextBucketStart = bucket.getNextStart(bucketStart).atStartOfDay(zoneId)
+                    .toInstant().toEpochMilli();
+            int bucketEndPos = Math.min(lowerBound(nextBucketStart), endPos);
+            visitor.accept(bucketStart, Arrays.copyOfRange(rows, pos, bucketEndPos));
+            pos = bucketEndPos;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void insert(long dateTime, int row) {
+        if (size == dateTimes.length) {
+            int newCapacity = size + (size >> 1);
+            dateTimes = Arrays.copyOf(dateTimes, newCapacity);
+            rows = Arrays.copyOf(rows, newCapacity);
+        }
+
+        int pos = size > 0 && dateTimes[size - 1] > dateTime ? upperBound(dateTime) : size;
+        System.arraycopy(dateTimes, pos, dateTimes, pos + 1, size - pos);
+        System.arraycopy(rows, pos, rows, pos + 1, size - pos);
+        dateTimes[pos] = dateTime;
+        rows[pos] = row;
+        size++;
+    }
+
+    /**
+     * @return position of the first date time &gt;= the date time.
+     */
+    private int lowerBound(long dateTime) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dateTimes[mid] < dateTime) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return position of the first date time &gt; the date time.
+     */
+    private int upperBound(long dateTime) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dateTimes[mid] <= dateTime) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Stable bottom-up merge sort of both arrays by date time (rows of equal date times
+     * stay in ascending order).
+     */
+    private void sort() {
+        long[] srcDateTimes = dateTimes;
+        int[] srcRows = rows;
+        var dstDateTimes = new long[srcDateTimes.length];
+        var dstRows = new int[srcRows.length];
+
+        for (int width = 1; width < size; width *= 2) {
+            for (int left = 0; left < size; left += 2 * width) {
+                int mid = Math.min(left + width, size);
+                int right = Math.min(left + 2 * width, size);
+                int i = left;
+                int j = mid;
+                for (int k = left; k < right; k++) {
+                    if (i < mid && (j >= right || srcDateTimes[i] <= srcDateTimes[j])) {
+                        dstDateTimes[k] = srcDateTimes[i];
+                        dstRows[k] = srcRows[i++];
+                    } else {
+                        dstDateTimes[k] = srcDateTimes[j];
+                        dstRows[k] = srcRows[j++];
+                    }
+                }
+            }
+            long[] tmpDateTimes = srcDateTimes;
+            srcDateTimes = dstDateTimes;
+            dstDateTimes = tmpDateTimes;
+            int[] tmpRows = srcRows;
+            srcRows = dstRows;
+            dstRows = tmpRows;
+        }
+        dateTimes = srcDateTimes;
+        rows = srcRows;
+    }
+}
@@ -0,0 +1,55 @@
+package home.storage;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Calendar period to group the data objects by date time.
+ */
+public enum TimeBucket {
+
+    DAY {
+        @Override
+        public LocalDate getStart(LocalDate date) {
+            return date;
+        }
+
+        @Override
+        LocalDate getNextStart(LocalDate start) {
+            return start.plusDays(1);
+        }
+    },
+
+    // ISO week, from Monday
+    WEEK {
+        @Override
+        public LocalDate getStart(LocalDate date) {
+            return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        LocalDate getNextStart(LocalDate start) {
+            return start.plusWeeks(1);
+        }
+    },
+
+    MONTH {
+        @Override
+        public LocalDate getStart(LocalDate date) {
+            return date.withDayOfMonth(1);
+        }
+
+        @Override
+        LocalDate getNextStart(LocalDate start) {
+            return start.plusMonths(1);
+        }
+    };
+
+    /**
+     * @return first day of the bucket with the date.
+     */
+    public abstract LocalDate getStart(LocalDate date);
+
+    abstract LocalDate getNextStart(LocalDate start);
+}
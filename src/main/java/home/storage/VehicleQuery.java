@@ -0,0 +1,186 @@
+package home.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import home.models.IVehicleRow;
+import home.models.VehicleType;
+
+/**
+ * Query of the rows by type, color, number, date time and flags.
+ * <p>
+ * {@link Builder#build()} compiles only the set conditions into one predicate,
+ * cheap conditions (type, flags, date time) are checked before the string ones.
+ * Small data sets are scanned sequentially, big ones in parallel (fork-join).
+ * Result is the array of rows (in ascending order), the data objects are not copied.
+ * <pre>
+ * VehicleQuery query = VehicleQuery.builder()
+ *         .type(VehicleType.TRUCK)
+ *         .hasTrailer(true)
+ *         .dateTimeBetween(from, to)
+ *         .build();
+ * int[] rows = Storage.INSTANCE.findRows(query);
+ * </pre>
+ */
+public final class VehicleQuery {
+
+    // parallel scan does not pay off for smaller data sets
+    static final int PARALLEL_THRESHOLD = 50_000;
+
+    private final Predicate<IVehicleRow> filter;
+
+    private VehicleQuery(Predicate<IVehicleRow> filter) {
+        this.filter = filter;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean matches(IVehicleRow row) {
+        return filter.test(row);
+    }
+
+    /**
+     * @return rows matching the query in ascending order.
+     */
+    public int[] findRows(List<? extends IVehicleRow> rows) {
+        IntStream rowsStream = IntStream.range(0, rows.size());
+        if (rows.size() >= PARALLEL_THRESHOLD) {
+            rowsStream = rowsStream.parallel();
+        }
+        return rowsStream.filter(row -> filter.test(rows.get(row))).toArray();
+    }
+
+    public static final class Builder {
+
+        private VehicleType type;
+        private String color;
+        private String number;
+        private long dateTimeFrom = Long.MIN_VALUE;
+        private long dateTimeTo = Long.MAX_VALUE;
+        private Boolean hasTrailer;
+        private Boolean isTransportsPassengers;
+        private Boolean isTransportsCargo;
+        private Boolean hasCradle;
+        private Boolean isMarkedForDelete;
+
+        private Builder() {
+        }
+
+        public Builder type(VehicleType type) {
+            this.type = type;
+            return this;
+        }
+
+        public Builder color(String color) {
+            this.color = color;
+            return this;
+        }
+
+        public Builder number(String number) {
+            this.number = number;
+            return this;
+        }
+
+        /**
+         * Date time in range [from, to].
+         */
+        public Builder dateTimeBetween(long from, long to) {
+            dateTimeFrom = from;
+            dateTimeTo = to;
+            return this;
+        }
+
+        public Builder hasTrailer(boolean hasTrailer) {
+            this.hasTrailer = hasTrailer;
+            return this;
+        }
+
+        public Builder transportsPassengers(boolean isTransportsPassengers) {
+            this.isTransportsPassengers = isTransportsPassengers;
+            return this;
+        }
+
+        public Builder transportsCargo(boolean isTransportsCargo) {
+            this.isTransportsCargo = isTransportsCargo;
+            return this;
+        }
+
+        public Builder hasCradle(boolean hasCradle) {
+            this.hasCradle = hasCradle;
+            return this;
+        }
+
+        public Builder markedForDelete(boolean isMarkedForDelete) {
+            this.isMarkedForDelete = isMarkedForDelete;
+            return this;
+        }
+
+        public VehicleQuery build() {
+            var conditions = new ArrayList<Predicate<IVehicleRow>>();
+
+            // copies of the fields, so the compiled query does not depend on the builder
+            VehicleType type = this.type;
+            if (type != null) {
+                conditions.add(row -> row.getType() == type);
+            }
+            addFlagCondition(conditions, hasTrailer, IVehicleRow::hasTrailer);
+            addFlagCondition(conditions, isTransportsPassengers, IVehicleRow::isTransportsPassengers);
+            addFlagCondition(conditions, isTransportsCargo, IVehicleRow::isTransportsCargo);
+            addFlagCondition(conditions, hasCradle, IVehicleRow::hasCradle);
+            addFlagCondition(conditions, isMarkedForDelete, IVehicleRow::isMarkedForDelete);
+
+            long from = dateTimeFrom;
+            long to = dateTimeTo;
+            if (from != Long.MIN_VALUE || to != Long.MAX_VALUE) {
+                conditions.add(row -> row.getDateTime() >= from && row.getDateTime() <= to);
+            }
+
+            String color = this.color;
+            if (color != null) {
+                conditions.add(row -> color.equals(row.getColor()));
+            }
+            String number = this.number;
+            if (number != null) {
+                conditions.add(row -> number.equals(row.getNumber()));
+            }
+
+            return new VehicleQuery(compile(conditions));
+        }
+
+        private static void addFlagCondition(List<Predicate<IVehicleRow>> conditions,
+                Boolean expectedValue, Predicate<IVehicleRow> flag) {
+            if (expectedValue == null) {
+                return;
+            }
+            conditions.add(expectedValue ? flag : flag.negate());
+        }
+
+        private static Predicate<IVehicleRow> compile(List<Predicate<IVehicleRow>> conditions) {
+            return switch (conditions.size()) {
+                case 0 -> Objects::nonNull;
+                case 1 -> conditions.get(0);
+                case 2 -> {
+                    Predicate<IVehicleRow> first = conditions.get(0);
+                    Predicate<IVehicleRow> second = conditions.get(1);
+                    yield row -> first.test(row) && second.test(row);
+                }
+                default -> {
+                    List<Predicate<IVehicleRow>> compiledConditions = List.copyOf(conditions);
+                    yield row -> {
+                        for (Predicate<IVehicleRow> condition : compiledConditions) {
+                            if (!condition.test(row)) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    };
+                }
+            };
+        }
+    }
+}
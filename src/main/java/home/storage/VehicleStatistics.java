@@ -0,0 +1,137 @@
+package home.storage;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import home.models.IVehicleRow;
+import home.models.VehicleType;
+
+/**
+ * Counters of the data objects by type, color, flags (trailer, cradle) and month of date time.
+ * <p>
+ * The counters are changed on each insert/update/delete, so all read methods are O(1)
+ * (maps are returned as unmodifiable views) and do not depend on count of the data objects.
+ */
+public final class VehicleStatistics {
+
+    private static final VehicleType[] TYPES = VehicleType.values();
+
+    private final ZoneId zoneId;
+
+    private int count;
+    private final int[] countsByType = new int[TYPES.length];
+    private int trailersCount;
+    private int cradlesCount;
+    private final Map<String, Integer> countsByColor = new HashMap<>();
+    private final NavigableMap<YearMonth, Integer> countsByMonth = new TreeMap<>();
+
+    // data objects often go in order of date time, so the last month is cached
+    private YearMonth lastMonth;
+    private long lastMonthStart;
+    private long lastMonthEnd;
+
+    public VehicleStatistics() {
+        this(ZoneId.systemDefault());
+    }
+
+    public VehicleStatistics(ZoneId zoneId) {
+        this.zoneId = zoneId;
+    }
+
+    public void add(IVehicleRow dataObj) {
+        change(dataObj, 1);
+    }
+
+    public void remove(IVehicleRow dataObj) {
+        change(dataObj, -1);
+    }
+
+    public void update(IVehicleRow oldDataObj, IVehicleRow newDataObj) {
+        if (oldDataObj != newDataObj) {
+            remove(oldDataObj);
+            add(newDataObj);
+        }
+    }
+
+    public void clear() {
+        count = 0;
+        trailersCount = 0;
+        cradlesCount = 0;
+        Arrays.fill(countsByType, 0);
+        countsByColor.clear();
+        countsByMonth.clear();
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getCount(VehicleType type) {
+        return countsByType[type.ordinal()];
+    }
+
+    public int getCountByColor(String color) {
+        return countsByColor.getOrDefault(color, 0);
+    }
+
+    public int getCountByMonth(YearMonth month) {
+        return countsByMonth.getOrDefault(month, 0);
+    }
+
+    public int getTrailersCount() {
+        return trailersCount;
+    }
+
+    public int getCradlesCount() {
+        return cradlesCount;
+    }
+
+    public Map<String, Integer> getCountsByColor() {
+        return Collections.unmodifiableMap(countsByColor);
+    }
+
+    /**
+     * @return counts by months in ascending order of the months.
+     */
+    public NavigableMap<YearMonth, Integer> getCountsByMonth() {
+        return Collections.unmodifiableNavigableMap(countsByMonth);
+    }
+
+    private void change(IVehicleRow dataObj, int delta) {
+        count += delta;
+        countsByType[dataObj.getType().ordinal()] += delta;
+        if (dataObj.hasTrailer()) {
+            trailersCount += delta;
+        }
+        if (dataObj.hasCradle()) {
+            cradlesCount += delta;
+        }
+        changeCount(countsByColor, dataObj.getColor(), delta);
+        changeCount(countsByMonth, toMonth(dataObj.getDateTime()), delta);
+    }
+
+    private static <K> void changeCount(Map<K, Integer> counts, K key, int delta) {
+        // a key without data objects is removed
+        counts.merge(key, delta, (oldCount, d) -> oldCount + d == 0 ? null : oldCount + d);
+    }
+
+    private YearMonth toMonth(long dateTime) {
+        if (lastMonth != null && dateTime >= lastMonthStart && dateTime < lastMonthEnd) {
+            return lastMonth;
+        }
+
+        ZonedDateTime zonedDateTime = Instant.ofEpochMilli(dateTime).atZone(zoneId);
+        lastMonth = YearMonth.from(zonedDateTime);
+        lastMonthStart = lastMonth.atDay(1).atStartOfDay(zoneId).toInstant().toEpochMilli();
+        lastMonthEnd = lastMonth.plusMonths(1).atDay(1).atStartOfDay(zoneId).toInstant().toEpochMilli();
+        return lastMonth;
+    }
+}
@@ -0,0 +1,200 @@
+package home.storage;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import home.models.AbstractVehicle;
+
+/**
+ * Array-backed store of data objects with O(1) positional get/set
+ * and amortized O(1) append.
+ * <p>
+ * The store tolerates gaps: a row can be punched out with {@link #markGap(int)}
+ * (its slot becomes {@code null}) and all gaps are removed later in a single
+ * pass by {@link #compactGaps()}. Gaps are meant to live only inside one bulk
+ * operation, the store is dense between such operations.
+ * <p>
+ * {@link #snapshot()} publishes an immutable version of the store in O(1): the snapshot
+ * shares the array with the store (copy-on-write). The array is copied only by the first
+ * change of the existing rows after a snapshot, appends to the free tail of the array
+ * do not copy it, because snapshots do not see the rows after their size.
+ * The store is changed by one (writer) thread, the snapshot may be taken and read by any thread.
+ */
+public final class VehicleStore extends AbstractList<AbstractVehicle> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private AbstractVehicle[] dataObjs = new AbstractVehicle[DEFAULT_CAPACITY];
+    private int size;
+    private int gapsCount;
+    // the array is used by a snapshot, so the existing rows must not be changed in place
+    private boolean isShared;
+
+    @Override
+    public AbstractVehicle get(int row) {
+        Objects.checkIndex(row, size);
+        return dataObjs[row];
+    }
+
+    @Override
+    public synchronized AbstractVehicle set(int row, AbstractVehicle dataObj) {
+        Objects.checkIndex(row, size);
+        copyIfShared();
+        AbstractVehicle oldDataObj = dataObjs[row];
+        dataObjs[row] = dataObj;
+        return oldDataObj;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized boolean add(AbstractVehicle dataObj) {
+        ensureCapacity(size + 1);
+        dataObjs[size++] = dataObj;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public synchronized boolean addAll(Collection<? extends AbstractVehicle> newDataObjs) {
+        if (newDataObjs.isEmpty()) {
+            return false;
+        }
+
+        ensureCapacity(size + newDataObjs.size());
+        for (AbstractVehicle dataObj : newDataObjs) {
+            dataObjs[size++] = dataObj;
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public synchronized AbstractVehicle remove(int row) {
+        Objects.checkIndex(row, size);
+        copyIfShared();
+        AbstractVehicle oldDataObj = dataObjs[row];
+        if (oldDataObj == null) {
+            gapsCount--;
+        }
+        System.arraycopy(dataObjs, row + 1, dataObjs, row, size - row - 1);
+        dataObjs[--size] = null;
+        modCount++;
+        return oldDataObj;
+    }
+
+    @Override
+    public synchronized void clear() {
+        if (isShared) {
+            dataObjs = new AbstractVehicle[DEFAULT_CAPACITY];
+            isShared = false;
+        } else {
+            Arrays.fill(dataObjs, 0, size, null);
+        }
+        size = 0;
+        gapsCount = 0;
+        modCount++;
+    }
+
+    public synchronized void ensureCapacity(int minCapacity) {
+        if (minCapacity <= dataObjs.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(minCapacity, dataObjs.length + (dataObjs.length >> 1));
+        dataObjs = Arrays.copyOf(dataObjs, newCapacity);
+        isShared = false;
+    }
+
+    /**
+     * @return immutable version of the store, O(1).
+     */
+    public synchronized List<AbstractVehicle> snapshot() {
+        if (gapsCount > 0) {
+            throw new IllegalStateException("Snapshot can not be taken inside a bulk operation with gaps");
+        }
+
+        isShared = true;
+        return Collections.unmodifiableList(new Snapshot(dataObjs, size));
+    }
+
+    private void copyIfShared() {
+        if (isShared) {
+            dataObjs = Arrays.copyOf(dataObjs, dataObjs.length);
+            isShared = false;
+        }
+    }
+
+    /**
+     * Punches a gap at the row: the slot keeps its position, but holds {@code null}
+     * until {@link #compactGaps()} is called.
+     */
+    public synchronized void markGap(int row) {
+        Objects.checkIndex(row, size);
+        copyIfShared();
+        if (dataObjs[row] != null) {
+            dataObjs[row] = null;
+            gapsCount++;
+        }
+    }
+
+    public boolean hasGaps() {
+        return gapsCount > 0;
+    }
+
+    /**
+     * Removes all gaps in one pass, the order of the remaining rows is kept.
+     *
+     * @return count of removed gaps
+     */
+    public synchronized int compactGaps() {
+        if (gapsCount == 0) {
+            return 0;
+        }
+
+        int newSize = 0;
+        for (int row = 0; row < size; row++) {
+            AbstractVehicle dataObj = dataObjs[row];
+            if (dataObj != null) {
+                dataObjs[newSize++] = dataObj;
+            }
+        }
+        Arrays.fill(dataObjs, newSize, size, null);
+
+        int removedGaps = size - newSize;
+        size = newSize;
+        gapsCount = 0;
+        modCount++;
+        return removedGaps;
+    }
+
+    private static final class Snapshot extends AbstractList<AbstractVehicle> implements RandomAccess {
+
+        private final AbstractVehicle[] dataObjs;
+        private final int size;
+
+        private Snapshot(AbstractVehicle[] dataObjs, int size) {
+            this.dataObjs = dataObjs;
+            this.size = size;
+        }
+
+        @Override
+        public AbstractVehicle get(int row) {
+            Objects.checkIndex(row, size);
+            return dataObjs[row];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package home.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded concurrent dictionary of canonical strings.
+ * <p>
+ * Decoders (DAO, importers) create a new string for each value of each row, although
+ * there are only a few different values (colors). The dictionary returns one canonical
+ * instance for equal strings, so duplicates can be collected by GC.
+ * Values, which are almost unique (plate numbers), are not interned: it saves nothing.
+ * When the dictionary is full, new values are returned as is.
+ */
+public final class StringDictionary {
+
+    public static final StringDictionary COLORS = new StringDictionary("colors", 4_096);
+
+    private final String name;
+    private final int maxSize;
+    private final Map<String, String> canonicalValues = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public StringDictionary(String name, int maxSize) {
+        this.name = name;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return canonical instance of the value.
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        String canonicalValue = canonicalValues.get(value);
+        if (canonicalValue != null) {
+            hits.increment();
+            return canonicalValue;
+        }
+
+        misses.increment();
+        if (canonicalValues.size() >= maxSize) {
+            return value;
+        }
+
+        canonicalValue = canonicalValues.putIfAbsent(value, value);
+        return canonicalValue != null ? canonicalValue : value;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return canonicalValues.size();
+    }
+
+    public void clear() {
+        canonicalValues.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "StringDictionary [name=" + name + ", size=" + size() + ", maxSize=" + maxSize
+                + ", hits=" + getHits() + ", misses=" + getMisses() + "]";
+    }
+}
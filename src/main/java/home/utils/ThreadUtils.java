@@ -1,6 +1,7 @@
 package home.utils;
 
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -16,6 +17,9 @@ public final class ThreadUtils {
     private static final ExecutorService EXECUTOR = Executors
             .newSingleThreadExecutor(new DaemonThreadFactory());
 
+    // they are run after the executor is stopped (e.g. closing of DB connections)
+    private static final List<Runnable> SHUTDOWN_ACTIONS = new CopyOnWriteArrayList<>();
+
     static {
         Runtime.getRuntime().addShutdownHook(new ExecutorShutdownThread());
     }
@@ -24,6 +28,10 @@ public final class ThreadUtils {
         EXECUTOR.execute(runnable);
     }
 
+    public static void runOnShutdown(Runnable action) {
+        SHUTDOWN_ACTIONS.add(action);
+    }
+
     @Deprecated(forRemoval = true)
     public static void runInThread(String description, Runnable runnable) {
         Thread thread = new Thread(runnable);
@@ -74,6 +82,14 @@ public final class ThreadUtils {
                         "Stopping tasks error", e);
                 Thread.currentThread().interrupt();
             }
+
+            for (Runnable action : SHUTDOWN_ACTIONS) {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    LOG.error("Shutdown action error.", e);
+                }
+            }
         }
     }
 }
@@ -0,0 +1,46 @@
+package home;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import home.models.AbstractVehicle;
+import home.models.Car;
+
+/**
+ * Data objects and timing for the benchmarks (tests tagged "benchmark").
+ */
+public final class BenchmarkUtils {
+
+    private BenchmarkUtils() {
+    }
+
+    /**
+     * @return (count) new red cars (without id) with numbers "0", "1", ... and growing date time.
+     */
+    public static List<AbstractVehicle> createCars(int count) {
+        var dataObjs = new ArrayList<AbstractVehicle>(count);
+        long dateTime = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            var car = new Car();
+            car.setColor("red");
+            car.setNumber(Integer.toString(i));
+            car.setDateTime(dateTime + i);
+            dataObjs.add(car);
+        }
+        return dataObjs;
+    }
+
+    /**
+     * @return milliseconds since the start (by System.nanoTime()).
+     */
+    public static long msSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * @return microseconds since the start (by System.nanoTime()).
+     */
+    public static long usSince(long start) {
+        return (System.nanoTime() - start) / 1_000;
+    }
+}
@@ -0,0 +1,73 @@
+package home;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import home.models.AbstractVehicle;
+
+/**
+ * Compares the old delete path (LinkedList.removeAll, which compares data objects by equals
+ * for each pair) with the one-pass delete of the marked data objects.
+ * <p>
+ * Run: mvn test -P benchmark
+ */
+@Tag("benchmark")
+final class StorageDeleteBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StorageDeleteBenchmarkTest.class);
+
+    // the old path is O(n * m), so it is measured on a smaller data set
+    private static final int OLD_PATH_ROWS = 100_000;
+    private static final int NEW_PATH_ROWS = 500_000;
+    private static final int EACH_ROW_FOR_DEL = 10;
+
+    @Test
+    void deleteTest() {
+        List<AbstractVehicle> dataObjs = createDataObjs(OLD_PATH_ROWS);
+        var linkedList = new LinkedList<>(dataObjs);
+        List<AbstractVehicle> objsMarkedForDel = dataObjs.stream()
+                .filter(AbstractVehicle::isMarkedForDelete).toList();
+
+        long start = System.nanoTime();
+        linkedList.removeAll(objsMarkedForDel);
+        long oldPathMs = BenchmarkUtils.msSince(start);
+
+        LOG.info("LinkedList.removeAll: {} of {} rows deleted in {} ms",
+                objsMarkedForDel.size(), OLD_PATH_ROWS, oldPathMs);
+
+        for (int rows : new int[]{OLD_PATH_ROWS, NEW_PATH_ROWS}) {
+            Storage.INSTANCE.initDataObjs(createDataObjs(rows));
+
+            start = System.nanoTime();
+            int deletedCount = Storage.INSTANCE.deleteMarkedDataObjs();
+            long newPathMs = BenchmarkUtils.msSince(start);
+
+            LOG.info("Storage.deleteMarkedDataObjs: {} of {} rows deleted in {} ms (with rebuild of indexes)",
+                    deletedCount, rows, newPathMs);
+            assertEquals(rows - rows / EACH_ROW_FOR_DEL, Storage.INSTANCE.getAll().size());
+        }
+    }
+
+    @AfterEach
+    void cleanStorage() {
+        Storage.INSTANCE.initDataObjs(Collections.emptyList());
+    }
+
+    private List<AbstractVehicle> createDataObjs(int count) {
+        List<AbstractVehicle> dataObjs = BenchmarkUtils.createCars(count);
+        for (int i = 0; i < count; i++) {
+            dataObjs.get(i).setId(i + 1);
+            dataObjs.get(i).setMarkedForDelete(i % EACH_ROW_FOR_DEL == 0);
+        }
+        return dataObjs;
+    }
+}
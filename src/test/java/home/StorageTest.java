@@ -0,0 +1,320 @@
+package home;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import home.models.AbstractVehicle;
+import home.models.Car;
+import home.models.Motorcycle;
+import home.models.Truck;
+import home.models.VehicleType;
+import home.storage.FacetIndex.Flag;
+import home.storage.IPageReader;
+import home.storage.IStorageListener;
+import home.storage.PagedVehicleList;
+import home.storage.RowBitmap;
+import home.storage.StorageChanges;
+import home.storage.StorageEvent;
+import home.storage.StorageEvent.Type;
+import home.storage.VehicleStatistics;
+
+final class StorageTest {
+
+    private static final long DATE_TIME = 1_663_679_739_000L;
+
+    @BeforeEach
+    void fillStorage() {
+        var dataObjs = new ArrayList<AbstractVehicle>();
+        dataObjs.add(createDataObj(new Car(), 1, "A1", DATE_TIME));
+        dataObjs.add(createDataObj(new Truck(), 2, "B2", DATE_TIME + 1_000));
+        dataObjs.add(createDataObj(new Motorcycle(), 3, "C3", DATE_TIME + 2_000));
+        dataObjs.add(createDataObj(new Car(), 4, "A1", DATE_TIME + 3_000));
+        Storage.INSTANCE.initDataObjs(dataObjs);
+    }
+
+    @Test
+    void findAfterInitTest() {
+        assertArrayEquals(new int[]{0, 3}, Storage.INSTANCE.findRowsByNumber("A1"));
+        assertArrayEquals(new int[]{0, 3}, Storage.INSTANCE.findRowsByType(VehicleType.CAR));
+        assertArrayEquals(new int[]{1, 2}, Storage.INSTANCE.findRowsByDateTime(DATE_TIME + 500, DATE_TIME + 2_000));
+        assertArrayEquals(new int[0], Storage.INSTANCE.findRowsByNumber("D4"));
+    }
+
+    @Test
+    void facetsTest() {
+        Storage.INSTANCE.setMarkedForDelete(3, true);
+        RowBitmap carsForDel = Storage.INSTANCE.queryFacets(facets -> facets.getRows(VehicleType.CAR)
+                .and(facets.getRows(Flag.MARKED_FOR_DELETE)));
+        assertArrayEquals(new int[]{3}, carsForDel.toArray());
+        int redCount = Storage.INSTANCE.queryFacets(facets -> facets.countByColor("red"));
+        assertEquals(4, redCount);
+        assertEquals(Map.of("red", 2), Storage.INSTANCE.queryFacets(
+                facets -> facets.countByColors(facets.getRows(VehicleType.CAR))));
+
+        Storage.INSTANCE.deleteMarkedDataObjs();
+        int carsCount = Storage.INSTANCE.queryFacets(facets -> facets.count(VehicleType.CAR));
+        int markedCount = Storage.INSTANCE.queryFacets(facets -> facets.count(Flag.MARKED_FOR_DELETE));
+        assertEquals(1, carsCount);
+        assertEquals(0, markedCount);
+    }
+
+    @Test
+    void findAfterAddAndUpdateTest() {
+        Storage.INSTANCE.addDataObjs(List.of(createDataObj(new Truck(), 0, "D4", DATE_TIME - 1_000)));
+        assertArrayEquals(new int[]{4}, Storage.INSTANCE.findRowsByNumber("D4"));
+        assertArrayEquals(new int[]{1, 4}, Storage.INSTANCE.findRowsByType(VehicleType.TRUCK));
+
+        AbstractVehicle editedDataObj = Storage.INSTANCE.get(0).copy();
+        editedDataObj.setNumber("E5");
+        editedDataObj.setDateTime(DATE_TIME + 10_000);
+        Storage.INSTANCE.updateDataObj(editedDataObj, 0);
+
+        assertArrayEquals(new int[]{3}, Storage.INSTANCE.findRowsByNumber("A1"));
+        assertArrayEquals(new int[]{0}, Storage.INSTANCE.findRowsByNumber("E5"));
+        assertArrayEquals(new int[]{4, 1, 2, 3, 0},
+                Storage.INSTANCE.findRowsByDateTime(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void findAfterDeleteTest() {
+        Storage.INSTANCE.deleteDataObjs(List.of(Storage.INSTANCE.get(1)));
+
+        assertEquals(3, Storage.INSTANCE.getAll().size());
+        assertArrayEquals(new int[]{0, 2}, Storage.INSTANCE.findRowsByNumber("A1"));
+        assertArrayEquals(new int[]{1}, Storage.INSTANCE.findRowsByNumber("C3"));
+        assertArrayEquals(new int[0], Storage.INSTANCE.findRowsByType(VehicleType.TRUCK));
+        assertArrayEquals(new long[]{2L}, Storage.INSTANCE.getChanges().idsForDel());
+    }
+
+    @Test
+    void deleteMarkedTest() {
+        Storage.INSTANCE.get(0).setMarkedForDelete(true);
+        Storage.INSTANCE.get(2).setMarkedForDelete(true);
+
+        assertEquals(2, Storage.INSTANCE.deleteMarkedDataObjs());
+        assertEquals(List.of("B2", "A1"),
+                Storage.INSTANCE.getAll().stream().map(AbstractVehicle::getNumber).toList());
+        assertArrayEquals(new int[]{1}, Storage.INSTANCE.findRowsByNumber("A1"));
+        assertEquals(0, Storage.INSTANCE.deleteMarkedDataObjs());
+    }
+
+    @Test
+    void changeTrackingTest() {
+        AbstractVehicle editedDataObj = Storage.INSTANCE.get(2).copy();
+        editedDataObj.setColor("black");
+        Storage.INSTANCE.updateDataObj(editedDataObj, 2);
+
+        var newDataObj = createDataObj(new Car(), 0, "F6", DATE_TIME);
+        Storage.INSTANCE.updateDataObj(newDataObj, Storage.NO_ROW_IS_SELECTED);
+        AbstractVehicle editedNewDataObj = newDataObj.copy();
+        editedNewDataObj.setColor("white");
+        Storage.INSTANCE.updateDataObj(editedNewDataObj, 4);
+
+        StorageChanges changes = Storage.INSTANCE.getChanges();
+        assertEquals(List.of(editedDataObj), changes.dataObjsForUpdate());
+        assertEquals(List.of(editedNewDataObj), changes.dataObjsForInsert());
+
+        // the updated data object is handed over as it is in the storage
+        Storage.INSTANCE.setMarkedForDelete(2, true);
+        assertSame(Storage.INSTANCE.get(2), Storage.INSTANCE.getChanges().dataObjsForUpdate().get(0));
+
+        Storage.INSTANCE.deleteDataObjs(List.of(Storage.INSTANCE.get(2), editedNewDataObj));
+        assertTrue(Storage.INSTANCE.getChanges().dataObjsForUpdate().isEmpty());
+        assertTrue(Storage.INSTANCE.getChanges().dataObjsForInsert().isEmpty());
+        assertArrayEquals(new long[]{3L}, Storage.INSTANCE.getChanges().idsForDel());
+        // the copy is not changed by later changes of the storage
+        assertEquals(List.of(editedNewDataObj), changes.dataObjsForInsert());
+    }
+
+    @Test
+    void markChangesSavedTest() {
+        AbstractVehicle editedDataObj = Storage.INSTANCE.get(0).copy();
+        editedDataObj.setColor("black");
+        Storage.INSTANCE.updateDataObj(editedDataObj, 0);
+        Storage.INSTANCE.updateDataObj(createDataObj(new Car(), 0, "D4", DATE_TIME), Storage.NO_ROW_IS_SELECTED);
+        Storage.INSTANCE.updateDataObj(createDataObj(new Car(), 0, "E5", DATE_TIME), Storage.NO_ROW_IS_SELECTED);
+        Storage.INSTANCE.deleteDataObjs(List.of(Storage.INSTANCE.get(1)));
+        StorageChanges changes = Storage.INSTANCE.getChanges();
+
+        // changes during the save
+        AbstractVehicle editedDuringSave = Storage.INSTANCE.get(1).copy();
+        editedDuringSave.setColor("white");
+        Storage.INSTANCE.updateDataObj(editedDuringSave, 1);
+        AbstractVehicle editedNewDuringSave = Storage.INSTANCE.get(3).copy();
+        editedNewDuringSave.setColor("white");
+        Storage.INSTANCE.updateDataObj(editedNewDuringSave, 3);
+        Storage.INSTANCE.deleteDataObjs(List.of(Storage.INSTANCE.get(4)));
+        var addedDuringSave = createDataObj(new Car(), 0, "F6", DATE_TIME);
+        Storage.INSTANCE.updateDataObj(addedDuringSave, Storage.NO_ROW_IS_SELECTED);
+
+        Storage.INSTANCE.markChangesSaved(changes, new long[]{5L, 6L});
+
+        assertEquals(List.of(1L, 3L, 4L, 5L, 0L),
+                Storage.INSTANCE.getAll().stream().map(AbstractVehicle::getId).toList());
+        assertTrue(Storage.INSTANCE.get(0).getChangedFields().isEmpty());
+        StorageChanges notSavedChanges = Storage.INSTANCE.getChanges();
+        // the new data object is deleted during the save, but it is inserted already
+        assertArrayEquals(new long[]{6L}, notSavedChanges.idsForDel());
+        // updated data objects are not ordered
+        List<AbstractVehicle> dataObjsForUpdate = notSavedChanges.dataObjsForUpdate().stream()
+                .sorted(Comparator.comparingLong(AbstractVehicle::getId)).toList();
+        assertEquals(List.of(3L, 5L), dataObjsForUpdate.stream().map(AbstractVehicle::getId).toList());
+        assertEquals("white", dataObjsForUpdate.get(1).getColor());
+        assertEquals(List.of(addedDuringSave), notSavedChanges.dataObjsForInsert());
+    }
+
+    @Test
+    void saveFailedTest() {
+        var newDataObj = createDataObj(new Car(), 0, "D4", DATE_TIME);
+        Storage.INSTANCE.updateDataObj(newDataObj, Storage.NO_ROW_IS_SELECTED);
+        int row = Storage.INSTANCE.getAll().size() - 1;
+        StorageChanges changes = Storage.INSTANCE.getChanges();
+        AbstractVehicle editedDuringSave = Storage.INSTANCE.get(row).copy();
+        editedDuringSave.setColor("white");
+        Storage.INSTANCE.updateDataObj(editedDuringSave, row);
+
+        Storage.INSTANCE.saveFailed(changes);
+        // the failed save is not saved later
+        Storage.INSTANCE.markChangesSaved(changes, new long[]{5L});
+
+        assertEquals(0, Storage.INSTANCE.get(row).getId());
+        assertEquals(List.of(editedDuringSave), Storage.INSTANCE.getChanges().dataObjsForInsert());
+    }
+
+    @Test
+    void eventsTest() {
+        var events = new ArrayList<StorageEvent>();
+        IStorageListener listener = events::add;
+        Storage.INSTANCE.addListener(listener);
+        try {
+            Storage.INSTANCE.addDataObjs(List.of(createDataObj(new Car(), 0, "D4", DATE_TIME),
+                    createDataObj(new Car(), 0, "E5", DATE_TIME)));
+            Storage.INSTANCE.setMarkedForDelete(0, true);
+            Storage.INSTANCE.setMarkedForDelete(2, true);
+            Storage.INSTANCE.setMarkedForDelete(3, true);
+            Storage.INSTANCE.deleteMarkedDataObjs();
+        } finally {
+            Storage.INSTANCE.removeListener(listener);
+        }
+
+        assertEquals(List.of(new StorageEvent(Type.INSERTED, 4, 5),
+                new StorageEvent(Type.UPDATED, 0, 0),
+                new StorageEvent(Type.UPDATED, 2, 2),
+                new StorageEvent(Type.UPDATED, 3, 3),
+                new StorageEvent(Type.DELETED, 2, 3),
+                new StorageEvent(Type.DELETED, 0, 0)), events);
+    }
+
+    @Test
+    void initByFailedReaderTest() {
+        var exception = new IOException("read error");
+        assertThrows(IOException.class, () -> Storage.INSTANCE.initDataObjs(consumer -> {
+            consumer.accept(createDataObj(new Car(), 5, "D4", DATE_TIME));
+            throw exception;
+        }));
+
+        assertTrue(Storage.INSTANCE.getAll().isEmpty(), "Storage must be empty after failed reading.");
+        assertArrayEquals(new int[0], Storage.INSTANCE.findRowsByNumber("D4"));
+        int count = Storage.INSTANCE.queryStatistics(VehicleStatistics::getCount);
+        assertEquals(0, count);
+    }
+
+    @Test
+    void useWhileReadingTest() throws Exception {
+        Storage.INSTANCE.initDataObjs(consumer -> {
+            consumer.accept(createDataObj(new Car(), 5, "D4", DATE_TIME));
+            // the storage is not locked by the reading, the current rows are used in other thread
+            CompletableFuture.runAsync(() -> Storage.INSTANCE.setMarkedForDelete(0, true))
+                    .get(5, TimeUnit.SECONDS);
+            assertArrayEquals(new int[] { 0, 3 }, Storage.INSTANCE.findRowsByNumber("A1"));
+            assertArrayEquals(new int[0], Storage.INSTANCE.findRowsByNumber("D4"));
+        });
+
+        assertEquals(1, Storage.INSTANCE.getAll().size());
+        assertArrayEquals(new int[] { 0 }, Storage.INSTANCE.findRowsByNumber("D4"));
+        assertEquals(0, Storage.INSTANCE.getChanges().size(), "Changes of the replaced rows must be forgotten.");
+    }
+
+    @Test
+    void windowTest() {
+        var window = new PagedVehicleList(1, 10, 1, new IPageReader<RuntimeException>() {
+            @Override
+            public List<AbstractVehicle> readPage(long afterId, int limit) {
+                return List.of(createDataObj(new Car(), 1, "W1", DATE_TIME));
+            }
+
+            @Override
+            public List<AbstractVehicle> readPageAt(long offset, int limit) {
+                return readPage(0, limit);
+            }
+        });
+        var events = new ArrayList<StorageEvent>();
+        IStorageListener listener = events::add;
+        Storage.INSTANCE.addListener(listener);
+        try {
+            Storage.INSTANCE.initWindow(window);
+        } finally {
+            Storage.INSTANCE.removeListener(listener);
+        }
+
+        assertEquals(List.of(StorageEvent.dataChanged()), events);
+        assertTrue(Storage.INSTANCE.isWindowed());
+        assertTrue(Storage.INSTANCE.isReadOnly());
+        assertThrows(IllegalStateException.class, () -> Storage.INSTANCE.getRowsSnapshot());
+        assertEquals("W1", Storage.INSTANCE.getTableRows().get(0).getNumber());
+        assertTrue(Storage.INSTANCE.getAll().isEmpty());
+        assertThrows(IllegalStateException.class, () -> Storage.INSTANCE.setMarkedForDelete(0, true));
+
+        Storage.INSTANCE.initDataObjs(Collections.emptyList());
+        assertFalse(Storage.INSTANCE.isWindowed());
+    }
+
+    @Test
+    void columnarTest() {
+        List<AbstractVehicle> dataObjs = new ArrayList<>(Storage.INSTANCE.getAll());
+        Storage.INSTANCE.initColumnar(dataObjs.size(), dataObjs::forEach);
+
+        assertTrue(Storage.INSTANCE.isReadOnly());
+        assertFalse(Storage.INSTANCE.isWindowed());
+        assertEquals("C3", Storage.INSTANCE.getTableRows().get(2).getNumber());
+        assertSame(Storage.INSTANCE.getTableRows(), Storage.INSTANCE.getRowsSnapshot());
+        assertEquals(dataObjs, Storage.INSTANCE.getSnapshot());
+        int count = Storage.INSTANCE.queryStatistics(VehicleStatistics::getCount);
+        assertEquals(4, count);
+        assertTrue(Storage.INSTANCE.getAll().isEmpty());
+        assertThrows(IllegalStateException.class, () -> Storage.INSTANCE.setMarkedForDelete(0, true));
+
+        Storage.INSTANCE.initDataObjs(Collections.emptyList());
+        assertFalse(Storage.INSTANCE.isReadOnly());
+    }
+
+    @AfterEach
+    void cleanStorage() {
+        Storage.INSTANCE.initDataObjs(Collections.emptyList());
+    }
+
+    private AbstractVehicle createDataObj(AbstractVehicle dataObj, long id, String number, long dateTime) {
+        dataObj.setId(id);
+        dataObj.setColor("red");
+        dataObj.setNumber(number);
+        dataObj.setDateTime(dateTime);
+        return dataObj;
+    }
+}
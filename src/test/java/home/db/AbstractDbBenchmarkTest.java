@@ -0,0 +1,44 @@
+package home.db;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+
+import home.Settings;
+import home.Settings.Setting;
+import home.Storage;
+import home.db.dao.DaoSQLite;
+import home.db.dao.IDao;
+
+sealed class AbstractDbBenchmarkTest permits BatchRecoveryBenchmarkTest, BulkDeleteBenchmarkTest,
+        MultiRowInsertBenchmarkTest, SaveNewRowsBenchmarkTest, SQLiteConnectionPoolBenchmarkTest,
+        SQLiteProfileBenchmarkTest, WindowedOpenBenchmarkTest {
+
+    protected File dbFile;
+
+    /**
+     * Creates the temporary DB file with the table, the file becomes the DB file of the settings.
+     */
+    protected IDao createDbFile() throws IOException, SQLException {
+        dbFile = File.createTempFile("tmp_benchmark_", ".db");
+        DbInitializer.createDBFileIfNotExists(dbFile);
+        DbInitializer.migrate();
+        return DaoSQLite.getInstance();
+    }
+
+    @AfterEach
+    void removeDbFile() throws IOException {
+        Storage.INSTANCE.initDataObjs(Collections.emptyList());
+        SQLiteConnectionPool.INSTANCE.closeIdle(dbFile.getAbsolutePath());
+        Files.deleteIfExists(dbFile.toPath());
+        Files.deleteIfExists(Path.of(dbFile.getAbsolutePath() + "-wal"));
+        Files.deleteIfExists(Path.of(dbFile.getAbsolutePath() + "-shm"));
+        Settings.writeSetting(Setting.DB_FILE_PATH, "");
+        Settings.writeSetting(Setting.SQLITE_PROFILE, Setting.SQLITE_PROFILE.getDefaultValue());
+    }
+}
@@ -0,0 +1,57 @@
+package home.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import home.BenchmarkUtils;
+import home.Storage;
+import home.db.dao.IDao;
+import home.models.AbstractVehicle;
+
+/**
+ * Measures "save as" of rows with some wrong rows (rejected by a trigger): the failed batch
+ * is recovered, the right rows are saved and the wrong ones are reported.
+ * <p>
+ * Run: mvn test -P benchmark
+ */
+@Tag("benchmark")
+final class BatchRecoveryBenchmarkTest extends AbstractDbBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchRecoveryBenchmarkTest.class);
+
+    private static final int ROWS = 20_000;
+    private static final int WRONG_ROWS = 5;
+    private static final String WRONG_NUMBER = "WRONG";
+
+    @Test
+    void saveAsTest() throws IOException, SQLException {
+        IDao dao = createDbFile();
+        try (var conn = Connector.getConnetionToSQLite();
+             var stmt = conn.createStatement()) {
+            stmt.execute("CREATE TRIGGER wrong_number BEFORE INSERT ON vehicle WHEN NEW.number = '"
+                    + WRONG_NUMBER + "' BEGIN SELECT RAISE(ABORT, 'wrong number'); END;");
+        }
+        List<AbstractVehicle> dataObjs = BenchmarkUtils.createCars(ROWS);
+        // wrong rows are spread over the batches
+        for (int i = ROWS / WRONG_ROWS / 2; i < ROWS; i += ROWS / WRONG_ROWS) {
+            dataObjs.get(i).setNumber(WRONG_NUMBER);
+        }
+        Storage.INSTANCE.initDataObjs(dataObjs);
+
+        long start = System.nanoTime();
+        assertThrows(SQLException.class, dao::saveAs);
+        long saveMs = BenchmarkUtils.msSince(start);
+
+        LOG.info("Save as of {} rows with {} wrong rows: {} ms", ROWS, WRONG_ROWS, saveMs);
+        assertEquals(ROWS - WRONG_ROWS, dao.count());
+    }
+}
@@ -0,0 +1,50 @@
+package home.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import home.BenchmarkUtils;
+import home.Storage;
+import home.db.dao.IDao;
+import home.models.AbstractVehicle;
+
+/**
+ * Measures saving of a big delete: half of the rows of the DB file are deleted in the storage
+ * and the changes are saved.
+ * <p>
+ * Run: mvn test -P benchmark
+ */
+@Tag("benchmark")
+final class BulkDeleteBenchmarkTest extends AbstractDbBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkDeleteBenchmarkTest.class);
+
+    private static final int ROWS = 400_000;
+
+    @Test
+    void deleteTest() throws IOException, SQLException {
+        IDao dao = createDbFile();
+        Storage.INSTANCE.initDataObjs(BenchmarkUtils.createCars(ROWS));
+        dao.saveAs();
+
+        List<AbstractVehicle> dataObjs = dao.readAll();
+        dataObjs.forEach(dataObj -> dataObj.setMarkedForDelete(dataObj.getId() % 2 == 0));
+        Storage.INSTANCE.initDataObjs(dataObjs);
+        Storage.INSTANCE.deleteMarkedDataObjs();
+
+        long start = System.nanoTime();
+        dao.saveAllChanges();
+        long deleteMs = BenchmarkUtils.msSince(start);
+
+        LOG.info("Delete of {} of {} rows: {} ms", ROWS / 2, ROWS, deleteMs);
+        assertEquals(ROWS / 2, dao.count());
+    }
+}
@@ -2,13 +2,21 @@ package home.db;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,8 +26,14 @@ import home.Settings;
 import home.Settings.Setting;
 import home.Storage;
 import home.db.dao.DaoSQLite;
+import home.gui.DataActionInGui;
 import home.models.AbstractVehicle;
 import home.models.Car;
+import home.models.Motorcycle;
+import home.models.Truck;
+import home.models.VehicleField;
+import home.models.VehicleType;
+import home.storage.StorageMode;
 
 public class DbTest {
 
@@ -34,7 +48,7 @@ public class DbTest {
         try {
             generetedDbFile = File.createTempFile(TMP, DB_FILE_NAME);
             DbInitializer.createDBFileIfNotExists(generetedDbFile);
-            DbInitializer.createTableIfNotExists();
+            DbInitializer.migrate();
         } catch (IOException e) {
             fail("Error while create DB file.", e);
         } catch (SQLException e) {
@@ -95,9 +109,374 @@ public class DbTest {
         }
     }
 
+    @Test
+    public void readBetweenTest() {
+        try {
+            long dateTime = System.currentTimeMillis();
+            for (int i = 0; i < 3; i++) {
+                var dataObj = new Car();
+                dataObj.setColor("Green");
+                dataObj.setNumber("1745" + i);
+                // added in reverse order of date time
+                dataObj.setDateTime(dateTime - i * 1_000);
+                Storage.INSTANCE.updateDataObj(dataObj, Storage.NO_ROW_IS_SELECTED);
+            }
+            DaoSQLite.getInstance().saveAllChanges();
+
+            List<AbstractVehicle> dataObjs = DaoSQLite.getInstance().readBetween(dateTime - 1_000, dateTime);
+
+            assertEquals(List.of("17451", "17450"), dataObjs.stream().map(AbstractVehicle::getNumber).toList());
+        } catch (SQLException e) {
+            fail("Error while works with DB.", e);
+        }
+    }
+
+    @Test
+    public void readByTypeTest() {
+        try {
+            AbstractVehicle[] dataObjs = {new Truck(), new Car(), new Truck()};
+            for (int i = 0; i < dataObjs.length; i++) {
+                dataObjs[i].setColor("Green");
+                dataObjs[i].setNumber("1745" + i);
+                dataObjs[i].setDateTime(System.currentTimeMillis());
+                Storage.INSTANCE.updateDataObj(dataObjs[i], Storage.NO_ROW_IS_SELECTED);
+            }
+            DaoSQLite.getInstance().saveAllChanges();
+
+            assertEquals(List.of("17450", "17452"), DaoSQLite.getInstance().readByType(VehicleType.TRUCK).stream()
+                    .map(AbstractVehicle::getNumber).toList());
+
+            // the rows are found and ordered by the index, without scan of the table and sort
+            try (var conn = Connector.getConnetionToSQLite();
+                 var stmt = conn.createStatement();
+                 var res = stmt.executeQuery(
+                         "EXPLAIN QUERY PLAN SELECT * FROM vehicle WHERE type = 'truck' ORDER BY id;")) {
+                var plan = new ArrayList<String>();
+                while (res.next()) {
+                    plan.add(res.getString("detail"));
+                }
+                assertEquals(List.of("SEARCH vehicle USING INDEX vehicle_type_idx (type=?)"), plan);
+            }
+        } catch (SQLException e) {
+            fail("Error while works with DB.", e);
+        }
+    }
+
+    @Test
+    public void readAllByConsumerTest() {
+        try {
+            for (int i = 0; i < 3; i++) {
+                var dataObj = new Car();
+                dataObj.setColor("Green");
+                dataObj.setNumber("1745" + i);
+                dataObj.setDateTime(System.currentTimeMillis());
+                Storage.INSTANCE.updateDataObj(dataObj, Storage.NO_ROW_IS_SELECTED);
+            }
+            DaoSQLite.getInstance().saveAllChanges();
+
+            var numbers = new ArrayList<String>();
+            int count = DaoSQLite.getInstance().readAll(2, dataObj -> numbers.add(dataObj.getNumber()));
+
+            assertEquals(3, count);
+            assertEquals(List.of("17450", "17451", "17452"), numbers);
+
+            Storage.INSTANCE.initDataObjs(DaoSQLite.getInstance()::readAll);
+            assertEquals(3, Storage.INSTANCE.getAll().size());
+        } catch (SQLException e) {
+            fail("Error while works with DB.", e);
+        }
+    }
+
+    @Test
+    public void readPageTest() {
+        try {
+            for (int i = 0; i < 5; i++) {
+                var dataObj = new Car();
+                dataObj.setColor("Green");
+                dataObj.setNumber("1745" + i);
+                dataObj.setDateTime(System.currentTimeMillis());
+                Storage.INSTANCE.updateDataObj(dataObj, Storage.NO_ROW_IS_SELECTED);
+            }
+            DaoSQLite.getInstance().saveAllChanges();
+
+            assertEquals(5, DaoSQLite.getInstance().count());
+            assertEquals(List.of("17452", "17453"), DaoSQLite.getInstance().readPage(2, 2).stream()
+                    .map(AbstractVehicle::getNumber).toList());
+            assertEquals(List.of("17454"), DaoSQLite.getInstance().readPageAt(4, 2).stream()
+                    .map(AbstractVehicle::getNumber).toList());
+        } catch (SQLException e) {
+            fail("Error while works with DB.", e);
+        }
+    }
+
+    @Test
+    public void upsertTest() {
+        try {
+            var car = new Car();
+            car.setNumber("17450");
+            car.setHasTrailer(true);
+            var motorcycle = new Motorcycle();
+            motorcycle.setNumber("17451");
+            motorcycle.setHasCradle(true);
+            Storage.INSTANCE.updateDataObj(car, Storage.NO_ROW_IS_SELECTED);
+            Storage.INSTANCE.updateDataObj(motorcycle, Storage.NO_ROW_IS_SELECTED);
+            DaoSQLite.getInstance().saveAllChanges();
+
+            // the updated row and the new row are saved by one statement
+            DataActionInGui.initFromDb(DaoSQLite.getInstance());
+            var truck = new Truck();
+            truck.setId(Storage.INSTANCE.get(0).getId());
+            truck.setNumber("17450");
+            truck.setTransportsCargo(true);
+            Storage.INSTANCE.updateDataObj(truck, 0);
+            var newCar = new Car();
+            newCar.setNumber("17452");
+            Storage.INSTANCE.updateDataObj(newCar, Storage.NO_ROW_IS_SELECTED);
+            DaoSQLite.getInstance().saveAllChanges();
+
+            motorcycle.setId(2);
+            newCar.setId(3);
+            assertEquals(List.of(truck, motorcycle, newCar), DaoSQLite.getInstance().readAll());
+        } catch (SQLException e) {
+            fail("Error while works with DB.", e);
+        }
+    }
+
+    @Test
+    public void updateChangedColumnsTest() {
+        try {
+            var car = new Car();
+            car.setColor("Green");
+            car.setNumber("17450");
+            Storage.INSTANCE.updateDataObj(car, Storage.NO_ROW_IS_SELECTED);
+            DaoSQLite.getInstance().saveAllChanges();
+
+            DataActionInGui.initFromDb(DaoSQLite.getInstance());
+            AbstractVehicle dataObj = Storage.INSTANCE.get(0).copy();
+            dataObj.setColor("Red");
+            Storage.INSTANCE.updateDataObj(dataObj, 0);
+            assertEquals(Set.of(VehicleField.COLOR), Storage.INSTANCE.get(0).copy().getChangedFields());
+
+            // not changed number is not written
+            try (var conn = Connector.getConnetionToSQLite();
+                 var stmt = conn.createStatement()) {
+                stmt.execute("UPDATE vehicle SET number = '17451';");
+            }
+            DaoSQLite.getInstance().saveAllChanges();
+
+            AbstractVehicle readDataObj = DaoSQLite.getInstance().readOne(dataObj.getId());
+            assertEquals("Red", readDataObj.getColor());
+            assertEquals("17451", readDataObj.getNumber());
+            assertTrue(readDataObj.getChangedFields().isEmpty());
+
+            // not changed data object (the dialog is closed by OK without edits) is not written
+            DataActionInGui.initFromDb(DaoSQLite.getInstance());
+            Storage.INSTANCE.updateDataObj(Storage.INSTANCE.get(0).copy(), 0);
+            try (var conn = Connector.getConnetionToSQLite();
+                 var stmt = conn.createStatement()) {
+                stmt.execute("UPDATE vehicle SET color = 'Blue';");
+            }
+            DaoSQLite.getInstance().saveAllChanges();
+            assertEquals("Blue", DaoSQLite.getInstance().readOne(dataObj.getId()).getColor());
+            assertEquals(0, Storage.INSTANCE.getChanges().size());
+        } catch (SQLException e) {
+            fail("Error while works with DB.", e);
+        }
+    }
+
+    @Test
+    public void setNewIdsTest() {
+        try {
+            for (int i = 0; i < 3; i++) {
+                var dataObj = new Car();
+                dataObj.setNumber("1745" + i);
+                Storage.INSTANCE.updateDataObj(dataObj, Storage.NO_ROW_IS_SELECTED);
+            }
+            DaoSQLite.getInstance().saveAllChanges();
+
+            // the storage is not read again from the DB
+            assertEquals(List.of(1L, 2L, 3L), Storage.INSTANCE.getAll().stream().map(AbstractVehicle::getId).toList());
+            assertTrue(Storage.INSTANCE.getChanges().dataObjsForInsert().isEmpty());
+
+            AbstractVehicle dataObj = Storage.INSTANCE.get(1).copy();
+            dataObj.setColor("Red");
+            Storage.INSTANCE.updateDataObj(dataObj, 1);
+            var newDataObj = new Car();
+            newDataObj.setNumber("17453");
+            Storage.INSTANCE.updateDataObj(newDataObj, Storage.NO_ROW_IS_SELECTED);
+            DaoSQLite.getInstance().saveAllChanges();
+
+            assertTrue(Storage.INSTANCE.getChanges().dataObjsForUpdate().isEmpty());
+            assertTrue(Storage.INSTANCE.get(1).getChangedFields().isEmpty());
+            assertEquals(DaoSQLite.getInstance().readAll(), Storage.INSTANCE.getAll());
+        } catch (SQLException e) {
+            fail("Error while works with DB.", e);
+        }
+    }
+
+    @Test
+    public void deleteTest() {
+        try {
+            for (int i = 0; i < 5; i++) {
+                var dataObj = new Car();
+                dataObj.setNumber("1745" + i);
+                Storage.INSTANCE.updateDataObj(dataObj, Storage.NO_ROW_IS_SELECTED);
+            }
+            DaoSQLite.getInstance().saveAllChanges();
+
+            // the second delete must not see ids of the first one
+            for (int row : new int[]{3, 0}) {
+                DataActionInGui.initFromDb(DaoSQLite.getInstance());
+                Storage.INSTANCE.setMarkedForDelete(row, true);
+                Storage.INSTANCE.deleteMarkedDataObjs();
+                DaoSQLite.getInstance().saveAllChanges();
+            }
+
+            assertEquals(List.of("17451", "17452", "17454"), DaoSQLite.getInstance().readAll().stream()
+                    .map(AbstractVehicle::getNumber).toList());
+        } catch (SQLException e) {
+            fail("Error while works with DB.", e);
+        }
+    }
+
+    @Test
+    public void saveAllChangesAtomicTest() {
+        try {
+            for (int i = 0; i < 2; i++) {
+                var dataObj = new Car();
+                dataObj.setNumber("1745" + i);
+                Storage.INSTANCE.updateDataObj(dataObj, Storage.NO_ROW_IS_SELECTED);
+            }
+            var progress = new ArrayList<String>();
+            DaoSQLite.getInstance().saveAllChanges((done, total) -> progress.add(done + "/" + total));
+            assertEquals(List.of("2/2"), progress);
+
+            createWrongNumberTrigger();
+
+            DataActionInGui.initFromDb(DaoSQLite.getInstance());
+            Storage.INSTANCE.setMarkedForDelete(0, true);
+            Storage.INSTANCE.deleteMarkedDataObjs();
+            for (String number : List.of("17452", "WRONG")) {
+                var dataObj = new Car();
+                dataObj.setNumber(number);
+                Storage.INSTANCE.updateDataObj(dataObj, Storage.NO_ROW_IS_SELECTED);
+            }
+
+            var e = assertThrows(SQLException.class, () -> DaoSQLite.getInstance().saveAllChanges());
+            // the wrong row is reported, neither delete nor insert of the right row is saved
+            assertTrue(e.getMessage().contains("number=WRONG"), e.getMessage());
+            // exceptions of the wrong row and of the failed save
+            assertEquals(2, e.getCause().getSuppressed().length);
+            assertEquals(List.of("17450", "17451"), DaoSQLite.getInstance().readAll().stream()
+                    .map(AbstractVehicle::getNumber).toList());
+        } catch (SQLException e) {
+            fail("Error while works with DB.", e);
+        }
+    }
+
+    @Test
+    public void saveAsWithWrongRowsTest() {
+        try {
+            createWrongNumberTrigger();
+            for (String number : List.of("17450", "WRONG", "17451", "17452", "WRONG")) {
+                var dataObj = new Car();
+                dataObj.setNumber(number);
+                Storage.INSTANCE.updateDataObj(dataObj, Storage.NO_ROW_IS_SELECTED);
+            }
+
+            var e = assertThrows(SQLException.class, () -> DaoSQLite.getInstance().saveAs());
+            // the right rows are saved, the wrong ones are reported
+            assertEquals(2, e.getCause().getCause().getCause().getSuppressed().length);
+            assertEquals(List.of("17450", "17451", "17452"), DaoSQLite.getInstance().readAll().stream()
+                    .map(AbstractVehicle::getNumber).toList());
+        } catch (SQLException e) {
+            fail("Error while works with DB.", e);
+        }
+    }
+
+    @Test
+    public void columnarModeTest() throws IOException {
+        try {
+            var truck = new Truck();
+            truck.setColor("Black");
+            truck.setNumber("17450");
+            truck.setTransportsCargo(true);
+            var moto = new Motorcycle();
+            moto.setNumber("17451");
+            moto.setHasCradle(true);
+            Storage.INSTANCE.initDataObjs(new ArrayList<>(List.of(truck, moto)));
+            DaoSQLite.getInstance().saveAllChanges();
+            List<AbstractVehicle> dataObjs = DaoSQLite.getInstance().readAll();
+
+            Settings.writeSetting(Setting.STORAGE_MODE, StorageMode.COLUMNAR.getName());
+            DataActionInGui.initFromDb(DaoSQLite.getInstance());
+            assertTrue(Storage.INSTANCE.isReadOnly());
+            assertEquals(dataObjs, Storage.INSTANCE.getSnapshot());
+
+            // the row views are written by the DAO as they are
+            try (var conn = Connector.getConnetionToSQLite();
+                 var stmt = conn.createStatement()) {
+                stmt.execute("DELETE FROM vehicle;");
+            }
+            DaoSQLite.getInstance().saveAs();
+            List<AbstractVehicle> savedDataObjs = DaoSQLite.getInstance().readAll();
+            assertEquals(List.of("17450", "17451"), savedDataObjs.stream().map(AbstractVehicle::getNumber).toList());
+            assertTrue(((Truck) savedDataObjs.get(0)).isTransportsCargo());
+            assertTrue(((Motorcycle) savedDataObjs.get(1)).hasCradle());
+        } catch (SQLException e) {
+            fail("Error while works with DB.", e);
+        } finally {
+            Settings.writeSetting(Setting.STORAGE_MODE, Setting.STORAGE_MODE.getDefaultValue());
+        }
+    }
+
+    private void createWrongNumberTrigger() throws SQLException {
+        try (var conn = Connector.getConnetionToSQLite();
+             var stmt = conn.createStatement()) {
+            stmt.execute("""
+                    CREATE TRIGGER wrong_number BEFORE INSERT ON vehicle WHEN NEW.number = 'WRONG'
+                    BEGIN SELECT RAISE(ABORT, 'wrong number'); END;""");
+        }
+    }
+
+    @Test
+    public void migrateTest() {
+        try (var conn = Connector.getConnetionToSQLite();
+             var stmt = conn.createStatement()) {
+            assertEquals(DbInitializer.getVersion(), readVersion(stmt));
+            var indexes = new ArrayList<String>();
+            try (var res = stmt.executeQuery("SELECT name FROM sqlite_master WHERE type = 'index' ORDER BY name;")) {
+                while (res.next()) {
+                    indexes.add(res.getString(1));
+                }
+            }
+            assertTrue(indexes.containsAll(List.of("vehicle_date_time_idx", "vehicle_number_idx",
+                    "vehicle_type_idx")), indexes.toString());
+            assertFalse(indexes.contains("vehicle_type_view_idx"), indexes.toString());
+
+            // DB file of the first version (created before the migrations)
+            stmt.execute("PRAGMA user_version = 0;");
+            DbInitializer.migrate();
+            assertEquals(DbInitializer.getVersion(), readVersion(stmt));
+
+            stmt.execute("PRAGMA user_version = 99;");
+            assertThrows(SQLException.class, DbInitializer::migrate);
+        } catch (SQLException e) {
+            fail("Error while works with DB.", e);
+        }
+    }
+
+    private int readVersion(Statement stmt) throws SQLException {
+        try (var res = stmt.executeQuery("PRAGMA user_version;")) {
+            return res.next() ? res.getInt(1) : 0;
+        }
+    }
+
     @AfterEach
     public void removeTemporaryDbFile() {
         try {
+            Storage.INSTANCE.initDataObjs(Collections.emptyList());
+            SQLiteConnectionPool.INSTANCE.closeIdle(generetedDbFile.getAbsolutePath());
             Files.deleteIfExists(generetedDbFile.toPath());
             Settings.writeSetting(Setting.DB_FILE_PATH, "");
         } catch (IOException e) {
@@ -0,0 +1,59 @@
+package home.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import home.BenchmarkUtils;
+import home.Storage;
+import home.db.dao.IDao;
+import home.models.AbstractVehicle;
+
+/**
+ * Measures bulk saves: "save as" of new rows, save of a recolor of half of the rows
+ * (only the changed column is updated) and save of new rows.
+ * <p>
+ * Run: mvn test -P benchmark
+ */
+@Tag("benchmark")
+final class MultiRowInsertBenchmarkTest extends AbstractDbBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MultiRowInsertBenchmarkTest.class);
+
+    private static final int ROWS = 200_000;
+
+    @Test
+    void saveTest() throws IOException, SQLException {
+        IDao dao = createDbFile();
+        Storage.INSTANCE.initDataObjs(BenchmarkUtils.createCars(ROWS));
+
+        long start = System.nanoTime();
+        dao.saveAs();
+        LOG.info("Save as of {} rows: {} ms", ROWS, BenchmarkUtils.msSince(start));
+
+        Storage.INSTANCE.initDataObjs(dao::readAll);
+        for (int row = 0; row < ROWS; row += 2) {
+            AbstractVehicle dataObj = Storage.INSTANCE.get(row).copy();
+            dataObj.setColor("green");
+            Storage.INSTANCE.updateDataObj(dataObj, row);
+        }
+        start = System.nanoTime();
+        dao.saveAllChanges();
+        LOG.info("Save of recolor of {} of {} rows: {} ms", ROWS / 2, ROWS, BenchmarkUtils.msSince(start));
+
+        for (AbstractVehicle dataObj : BenchmarkUtils.createCars(ROWS / 2)) {
+            Storage.INSTANCE.updateDataObj(dataObj, Storage.NO_ROW_IS_SELECTED);
+        }
+        start = System.nanoTime();
+        dao.saveAllChanges();
+        LOG.info("Save of {} new rows: {} ms", ROWS / 2, BenchmarkUtils.msSince(start));
+
+        assertEquals(ROWS + ROWS / 2, dao.count());
+    }
+}
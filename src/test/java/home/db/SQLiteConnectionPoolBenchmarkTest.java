@@ -0,0 +1,87 @@
+package home.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import home.BenchmarkUtils;
+import home.db.dao.IDbConsts;
+
+/**
+ * Compares save/load round trips (insert of one row and read of it by id) with a new
+ * connection and new statements for each operation (the old path) and with the pooled
+ * connections and cached statements.
+ * <p>
+ * Run: mvn test -P benchmark
+ */
+@Tag("benchmark")
+final class SQLiteConnectionPoolBenchmarkTest extends AbstractDbBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SQLiteConnectionPoolBenchmarkTest.class);
+
+    private static final int ROUND_TRIPS = 2_000;
+
+    private static final String INSERT = "INSERT INTO vehicle ('type','color','number','date_time') VALUES (?,?,?,?);";
+    private static final String SELECT_ONE = "SELECT * FROM vehicle WHERE id=?;";
+
+    @BeforeEach
+    void initDbFile() throws IOException, SQLException {
+        createDbFile();
+    }
+
+    @Test
+    void roundTripTest() throws SQLException {
+        String dbFilePath = dbFile.getAbsolutePath();
+
+        long start = System.nanoTime();
+        for (int i = 1; i <= ROUND_TRIPS; i++) {
+            try (var conn = Connector.openConnectionToSQLite(dbFilePath, SQLiteProfile.SAFE)) {
+                insert(conn, i);
+            }
+            try (var conn = Connector.openConnectionToSQLite(dbFilePath, SQLiteProfile.SAFE)) {
+                assertEquals(Integer.toString(i), readNumber(conn, i));
+            }
+        }
+        long oldPathMs = BenchmarkUtils.msSince(start);
+        LOG.info("New connection for each operation: {} round trips in {} ms", ROUND_TRIPS, oldPathMs);
+
+        start = System.nanoTime();
+        for (int i = ROUND_TRIPS + 1; i <= 2 * ROUND_TRIPS; i++) {
+            try (var conn = Connector.getConnetionToSQLite()) {
+                insert(conn, i);
+            }
+            try (var conn = Connector.getConnetionToSQLite()) {
+                assertEquals(Integer.toString(i), readNumber(conn, i));
+            }
+        }
+        long newPathMs = BenchmarkUtils.msSince(start);
+        LOG.info("Pooled connection and cached statements: {} round trips in {} ms", ROUND_TRIPS, newPathMs);
+    }
+
+    private static void insert(Connection conn, int i) throws SQLException {
+        try (var pstmt = conn.prepareStatement(INSERT)) {
+            pstmt.setString(1, "car");
+            pstmt.setString(2, "red");
+            pstmt.setString(3, Integer.toString(i));
+            pstmt.setLong(4, i);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static String readNumber(Connection conn, long id) throws SQLException {
+        try (var pstmt = conn.prepareStatement(SELECT_ONE)) {
+            pstmt.setLong(1, id);
+            try (var res = pstmt.executeQuery()) {
+                return res.next() ? res.getString(IDbConsts.NUMBER) : null;
+            }
+        }
+    }
+}
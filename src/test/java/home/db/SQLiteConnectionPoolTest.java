@@ -0,0 +1,72 @@
+package home.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+final class SQLiteConnectionPoolTest {
+
+    private static final String SELECT = "SELECT ?;";
+
+    private File dbFile;
+
+    @BeforeEach
+    void createDbFile() throws IOException {
+        dbFile = File.createTempFile("tmp_pool_", ".db");
+    }
+
+    @Test
+    void reuseTest() throws SQLException {
+        String dbFilePath = dbFile.getAbsolutePath();
+
+        Connection physicalConn;
+        PreparedStatement physicalPstmt;
+        try (var conn = SQLiteConnectionPool.INSTANCE.getConnection(dbFilePath, SQLiteProfile.SAFE);
+             var pstmt = conn.prepareStatement(SELECT)) {
+            physicalConn = conn.unwrap(Connection.class);
+            physicalPstmt = pstmt.unwrap(PreparedStatement.class);
+            conn.setAutoCommit(false);
+        }
+
+        try (var conn = SQLiteConnectionPool.INSTANCE.getConnection(dbFilePath, SQLiteProfile.SAFE)) {
+            assertSame(physicalConn, conn.unwrap(Connection.class));
+            assertTrue(conn.getAutoCommit(), "Returned connection must be reset.");
+            try (var pstmt = conn.prepareStatement(SELECT)) {
+                assertSame(physicalPstmt, pstmt.unwrap(PreparedStatement.class));
+                pstmt.setInt(1, 7);
+                try (var res = pstmt.executeQuery()) {
+                    assertTrue(res.next());
+                    assertEquals(7, res.getInt(1));
+                }
+            }
+        }
+    }
+
+    @Test
+    void closedConnectionTest() throws SQLException {
+        Connection conn = SQLiteConnectionPool.INSTANCE.getConnection(dbFile.getAbsolutePath(), SQLiteProfile.SAFE);
+        assertFalse(conn.isClosed());
+        conn.close();
+        assertTrue(conn.isClosed());
+        assertThrows(SQLException.class, () -> conn.prepareStatement(SELECT));
+    }
+
+    @AfterEach
+    void removeDbFile() throws IOException {
+        SQLiteConnectionPool.INSTANCE.closeIdle(dbFile.getAbsolutePath());
+        Files.deleteIfExists(dbFile.toPath());
+    }
+}
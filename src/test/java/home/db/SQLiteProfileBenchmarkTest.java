@@ -0,0 +1,45 @@
+package home.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import home.BenchmarkUtils;
+import home.Settings;
+import home.Settings.Setting;
+import home.Storage;
+import home.db.dao.IDao;
+
+/**
+ * Compares save of many rows into a new DB file (DaoSQLite.saveAs) with the SQLite profiles.
+ * <p>
+ * Run: mvn test -P benchmark
+ */
+@Tag("benchmark")
+final class SQLiteProfileBenchmarkTest extends AbstractDbBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SQLiteProfileBenchmarkTest.class);
+
+    private static final int ROWS = 200_000;
+
+    @ParameterizedTest
+    @EnumSource(SQLiteProfile.class)
+    void saveAsTest(SQLiteProfile profile) throws IOException, SQLException {
+        Settings.writeSetting(Setting.SQLITE_PROFILE, profile.getName());
+        IDao dao = createDbFile();
+        Storage.INSTANCE.initDataObjs(BenchmarkUtils.createCars(ROWS));
+
+        long start = System.nanoTime();
+        dao.saveAs();
+        LOG.info("Profile '{}': {} rows saved in {} ms", profile.getName(), ROWS, BenchmarkUtils.msSince(start));
+
+        assertEquals(ROWS, dao.readAll().size());
+    }
+}
@@ -0,0 +1,60 @@
+package home.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import home.db.SQLiteProfile.Pragma;
+
+final class SQLiteProfileTest {
+
+    private File dbFile;
+
+    @BeforeEach
+    void createDbFile() throws IOException {
+        dbFile = File.createTempFile("tmp_profile_", ".db");
+    }
+
+    @ParameterizedTest
+    @EnumSource(SQLiteProfile.class)
+    void applyTest(SQLiteProfile profile) throws SQLException {
+        String dbFilePath = dbFile.getAbsolutePath();
+        try (var conn = Connector.openConnectionToSQLite(dbFilePath, SQLiteProfile.SAFE)) {
+            // the file is empty, so the page size of each profile is applied too
+            Map<Pragma, String> actualPragmas = profile.apply(conn, dbFilePath);
+            for (Pragma pragma : Pragma.values()) {
+                assertEquals(profile.getPragmas().get(pragma), actualPragmas.get(pragma), pragma.name());
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "[{0}] -> {1}")
+    @CsvSource(value = {
+            "safe      , SAFE",
+            "Balanced  , BALANCED",
+            "bulk-load , BULK_LOAD",
+            "unknown   , SAFE",
+            "''        , SAFE",
+    })
+    void getProfileTest(String name, SQLiteProfile expected) {
+        assertEquals(expected, SQLiteProfile.getProfile(name));
+    }
+
+    @AfterEach
+    void removeDbFile() throws IOException {
+        Files.deleteIfExists(dbFile.toPath());
+        Files.deleteIfExists(Path.of(dbFile.getAbsolutePath() + "-wal"));
+        Files.deleteIfExists(Path.of(dbFile.getAbsolutePath() + "-shm"));
+    }
+}
@@ -0,0 +1,57 @@
+package home.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import home.BenchmarkUtils;
+import home.Storage;
+import home.db.dao.IDao;
+import home.gui.DataActionInGui;
+
+/**
+ * Compares save of some new rows to a big DB file with the reload of the DB after the save
+ * (the old path, to get ids of the new rows) and without it (ids are set by the save).
+ * <p>
+ * Run: mvn test -P benchmark
+ */
+@Tag("benchmark")
+final class SaveNewRowsBenchmarkTest extends AbstractDbBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SaveNewRowsBenchmarkTest.class);
+
+    private static final int ROWS = 500_000;
+    private static final int NEW_ROWS = 10;
+
+    @Test
+    void saveTest() throws IOException, SQLException {
+        IDao dao = createDbFile();
+        Storage.INSTANCE.initDataObjs(BenchmarkUtils.createCars(ROWS));
+        dao.saveAs();
+        DataActionInGui.initFromDb(dao);
+
+        addNewRows();
+        long start = System.nanoTime();
+        dao.saveAllChanges();
+        DataActionInGui.initFromDb(dao);
+        LOG.info("Save of {} new rows to {} rows and reload: {} ms", NEW_ROWS, ROWS, BenchmarkUtils.msSince(start));
+
+        addNewRows();
+        start = System.nanoTime();
+        dao.saveAllChanges();
+        LOG.info("Save of {} new rows to {} rows: {} ms", NEW_ROWS, ROWS, BenchmarkUtils.msSince(start));
+
+        assertEquals(ROWS + 2 * NEW_ROWS, dao.count());
+    }
+
+    private void addNewRows() {
+        BenchmarkUtils.createCars(NEW_ROWS).forEach(dataObj -> Storage.INSTANCE.updateDataObj(dataObj,
+                Storage.NO_ROW_IS_SELECTED));
+    }
+}
@@ -0,0 +1,70 @@
+package home.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import home.BenchmarkUtils;
+import home.Settings;
+import home.Settings.Setting;
+import home.Storage;
+import home.db.dao.IDao;
+import home.storage.PagedVehicleList;
+
+/**
+ * Compares opening of a big DB file: reading of all rows in the storage and the windowed mode
+ * (count of rows and the first screen, then a jump to the end of the table).
+ * <p>
+ * Run: mvn test -P benchmark
+ */
+@Tag("benchmark")
+final class WindowedOpenBenchmarkTest extends AbstractDbBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WindowedOpenBenchmarkTest.class);
+
+    private static final int ROWS = 1_000_000;
+    private static final int PAGE_SIZE = 500;
+    private static final int SCREEN_ROWS = 40;
+
+    @Test
+    void openTest() throws IOException, SQLException {
+        Settings.writeSetting(Setting.SQLITE_PROFILE, SQLiteProfile.BULK_LOAD.getName());
+        IDao dao = createDbFile();
+        Storage.INSTANCE.initDataObjs(BenchmarkUtils.createCars(ROWS));
+        dao.saveAs();
+
+        long start = System.nanoTime();
+        Storage.INSTANCE.initDataObjs(dao::readAll);
+        LOG.info("Read of all {} rows in the storage: {} ms", ROWS, BenchmarkUtils.msSince(start));
+        Storage.INSTANCE.initDataObjs(Collections.emptyList());
+
+        start = System.nanoTime();
+        var window = new PagedVehicleList(dao.count(), PAGE_SIZE, 1, dao);
+        for (int row = 0; row < SCREEN_ROWS; row++) {
+            window.get(row);
+        }
+        long firstScreenUs = BenchmarkUtils.usSince(start);
+
+        start = System.nanoTime();
+        for (int row = ROWS - SCREEN_ROWS; row < ROWS; row++) {
+            window.get(row);
+        }
+        long lastScreenUs = BenchmarkUtils.usSince(start);
+
+        start = System.nanoTime();
+        window.get(ROWS - 2 * PAGE_SIZE);
+        window.get(PAGE_SIZE);
+        long nextPageUs = BenchmarkUtils.usSince(start) / 2;
+
+        LOG.info("Windowed mode: count and first screen {} us, jump to the last screen {} us,"
+                + " next page by keyset {} us", firstScreenUs, lastScreenUs, nextPageUs);
+        assertEquals(ROWS, window.size());
+    }
+}
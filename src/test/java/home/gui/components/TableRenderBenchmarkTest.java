@@ -0,0 +1,83 @@
+package home.gui.components;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import home.BenchmarkUtils;
+import home.models.AbstractVehicle;
+import home.storage.VehicleStore;
+
+/**
+ * Measures the cost of rendering one screen of the table (every cell of the visible rows)
+ * in the middle of the data set for different data set sizes.
+ * <p>
+ * Run: mvn test -P benchmark
+ */
+@Tag("benchmark")
+final class TableRenderBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TableRenderBenchmarkTest.class);
+
+    private static final int[] DATA_SET_SIZES = {10_000, 50_000, 200_000};
+    private static final int VISIBLE_ROWS = 40;
+    private static final int SCREENS = 50;
+    private static final int WARM_UP_SCREENS = 100;
+
+    // the per-row cost is allowed to vary a little because of JIT and GC noise
+    private static final double MAX_GROWTH_OF_ROW_COST = 3.0;
+
+    @Test
+    void renderCostPerRowTest() {
+        double firstRowCost = 0;
+        double lastRowCost = 0;
+        for (int size : DATA_SET_SIZES) {
+            var store = new VehicleStore();
+            store.addAll(BenchmarkUtils.createCars(size));
+            double storeRowCost = measureRowCost(store);
+
+            double linkedListRowCost = measureRowCost(new LinkedList<>(store));
+
+            LOG.info("rows: {}, render cost per row: VehicleStore {} ns, LinkedList {} ns",
+                    size, Math.round(storeRowCost), Math.round(linkedListRowCost));
+
+            if (firstRowCost == 0) {
+                firstRowCost = storeRowCost;
+            }
+            lastRowCost = storeRowCost;
+        }
+
+        assertTrue(lastRowCost < firstRowCost * MAX_GROWTH_OF_ROW_COST,
+                "Render cost per row must not depend on the data set size: %.0f ns -> %.0f ns"
+                        .formatted(firstRowCost, lastRowCost));
+    }
+
+    private double measureRowCost(List<AbstractVehicle> dataObjs) {
+        var model = new CustomJTableDataModel(() -> dataObjs);
+        int firstVisibleRow = dataObjs.size() / 2;
+
+        for (int i = 0; i < WARM_UP_SCREENS; i++) {
+            renderScreen(model, firstVisibleRow);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < SCREENS; i++) {
+            renderScreen(model, firstVisibleRow);
+        }
+        return (double) (System.nanoTime() - start) / (SCREENS * VISIBLE_ROWS);
+    }
+
+    private void renderScreen(CustomJTableDataModel model, int firstVisibleRow) {
+        for (int row = firstVisibleRow; row < firstVisibleRow + VISIBLE_ROWS; row++) {
+            for (int col = 0; col < model.getColumnCount(); col++) {
+                model.getValueAt(row, col);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package home.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import home.models.AbstractVehicle;
+import home.models.Car;
+import home.models.IVehicleRow;
+import home.models.Motorcycle;
+import home.models.Truck;
+import home.models.VehicleType;
+
+final class ColumnarVehicleStoreTest {
+
+    @Test
+    void rowViewsTest() {
+        List<AbstractVehicle> dataObjs = createDataObjs();
+        var store = ColumnarVehicleStore.of(dataObjs);
+
+        assertEquals(dataObjs.size(), store.size());
+        assertEquals(2, store.getColorsCount());
+
+        IVehicleRow truckRow = store.get(1);
+        assertEquals(VehicleType.TRUCK, truckRow.getType());
+        assertEquals("black", truckRow.getColor());
+        assertEquals("2", truckRow.getNumber());
+        assertTrue(truckRow.isTransportsCargo());
+        assertFalse(truckRow.hasTrailer());
+        assertFalse(truckRow.isMarkedForDelete());
+        assertTrue(store.get(2).isMarkedForDelete());
+    }
+
+    @Test
+    void toDataObjTest() {
+        List<AbstractVehicle> dataObjs = createDataObjs();
+        var store = ColumnarVehicleStore.of(dataObjs);
+
+        for (int row = 0; row < dataObjs.size(); row++) {
+            assertEquals(dataObjs.get(row), store.toDataObj(row));
+        }
+        assertEquals(dataObjs, store.asDataObjs());
+    }
+
+    private List<AbstractVehicle> createDataObjs() {
+        var car = new Car();
+        car.setId(1);
+        car.setColor("red");
+        car.setNumber("1");
+        car.setDateTime(1_000L);
+        car.setHasTrailer(true);
+        car.setTransportsPassengers(true);
+
+        var truck = new Truck();
+        truck.setId(2);
+        truck.setColor("black");
+        truck.setNumber("2");
+        truck.setDateTime(2_000L);
+        truck.setTransportsCargo(true);
+
+        var moto = new Motorcycle();
+        moto.setId(3);
+        moto.setColor("red");
+        moto.setNumber("3");
+        moto.setDateTime(3_000L);
+        moto.setHasCradle(true);
+        moto.setMarkedForDelete(true);
+
+        return List.of(car, truck, moto);
+    }
+}
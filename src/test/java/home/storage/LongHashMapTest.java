@@ -0,0 +1,60 @@
+package home.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+final class LongHashMapTest {
+
+    @Test
+    void putGetReplaceRemoveTest() {
+        var map = new LongHashMap<String>();
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(42, "a"));
+        assertEquals("a", map.put(42, "b"));
+        assertEquals("b", map.get(42));
+        assertEquals("zero", map.get(0));
+        assertNull(map.get(7));
+        assertEquals(2, map.size());
+
+        assertNull(map.replace(7, "c"));
+        assertNull(map.get(7));
+        assertEquals("b", map.replace(42, "c"));
+        assertEquals(List.of("zero", "c"), map.values());
+
+        assertEquals("zero", map.remove(0));
+        assertNull(map.remove(0));
+        assertEquals("c", map.remove(42));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void sameContentAsHashMapTest() {
+        var random = new Random(17);
+        var map = new LongHashMap<Integer>();
+        Map<Long, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            // small range gives a lot of collisions and repeated removals
+            long key = random.nextInt(5_000);
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.put(key, i), map.put(key, i));
+                case 1 -> assertEquals(expected.replace(key, i), map.replace(key, i));
+                default -> assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        assertEquals(expected.values().stream().sorted().toList(), map.values().stream().sorted().toList());
+    }
+}
@@ -0,0 +1,54 @@
+package home.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+final class LongHashSetTest {
+
+    @Test
+    void addContainsRemoveTest() {
+        var set = new LongHashSet();
+        assertTrue(set.add(0));
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(42));
+        assertFalse(set.contains(7));
+        assertEquals(2, set.size());
+
+        assertTrue(set.remove(0));
+        assertFalse(set.remove(0));
+        assertTrue(set.remove(42));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void sameContentAsHashSetTest() {
+        var random = new Random(17);
+        var set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            // small range gives a lot of collisions and repeated removals
+            long value = random.nextInt(5_000);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), set.add(value));
+            } else {
+                assertEquals(expected.remove(value), set.remove(value));
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        long[] actual = set.toArray();
+        Arrays.sort(actual);
+        assertTrue(Arrays.equals(expected.stream().mapToLong(Long::longValue).sorted().toArray(), actual));
+    }
+}
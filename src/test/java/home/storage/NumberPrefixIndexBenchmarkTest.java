@@ -0,0 +1,90 @@
+package home.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import home.BenchmarkUtils;
+import home.models.AbstractVehicle;
+import home.models.Car;
+
+/**
+ * Search-as-you-type over 1M plates: time of each "keystroke" (prefix search).
+ * <p>
+ * Run: mvn test -P benchmark
+ */
+@Tag("benchmark")
+final class NumberPrefixIndexBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NumberPrefixIndexBenchmarkTest.class);
+
+    private static final int PLATES_COUNT = 1_000_000;
+    private static final String CHARS = "ABCEHKMOPTXY0123456789";
+    private static final int WARM_UP_SEARCHES = 10_000;
+
+    @Test
+    void searchTest() {
+        var random = new Random(42);
+        var dataObjs = new ArrayList<AbstractVehicle>(PLATES_COUNT);
+        for (int i = 0; i < PLATES_COUNT; i++) {
+            var car = new Car();
+            car.setNumber(createPlate(random));
+            dataObjs.add(car);
+        }
+
+        var index = new NumberPrefixIndex();
+        long start = System.nanoTime();
+        index.rebuild(dataObjs);
+        LOG.info("Index of {} plates is built in {} ms", PLATES_COUNT, BenchmarkUtils.msSince(start));
+
+        String plate = dataObjs.get(PLATES_COUNT / 2).getNumber();
+        warmUp(index, dataObjs);
+
+        for (int length = 1; length <= plate.length(); length++) {
+            String prefix = plate.substring(0, length);
+            start = System.nanoTime();
+            int[] rows = index.findByPrefix(prefix);
+            long allRowsMicros = BenchmarkUtils.usSince(start);
+
+            // keystroke in the search field: count and the first found row
+            start = System.nanoTime();
+            int count = index.countByPrefix(prefix);
+            int[] firstRow = index.findByPrefix(prefix, 1);
+            long keystrokeMicros = BenchmarkUtils.usSince(start);
+
+            LOG.info("Prefix '{}': {} rows found in {} us, count and first row in {} us",
+                    prefix, rows.length, allRowsMicros, keystrokeMicros);
+            assertEquals(rows.length, count);
+            assertEquals(1, firstRow.length);
+        }
+    }
+
+    private void warmUp(NumberPrefixIndex index, List<AbstractVehicle> dataObjs) {
+        for (int i = 0; i < WARM_UP_SEARCHES; i++) {
+            String plate = dataObjs.get(i).getNumber();
+            String prefix = plate.substring(0, 1 + i % plate.length());
+            index.findByPrefix(prefix);
+            index.findByPrefix(prefix, 1);
+            index.countByPrefix(prefix);
+        }
+    }
+
+    // plate like A123BC77
+    private String createPlate(Random random) {
+        var sb = new StringBuilder();
+        sb.append(CHARS.charAt(random.nextInt(12)));
+        for (int i = 0; i < 3; i++) {
+            sb.append(CHARS.charAt(12 + random.nextInt(10)));
+        }
+        sb.append(CHARS.charAt(random.nextInt(12))).append(CHARS.charAt(random.nextInt(12)));
+        sb.append(10 + random.nextInt(90));
+        return sb.toString();
+    }
+}
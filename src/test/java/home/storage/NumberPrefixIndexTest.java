@@ -0,0 +1,60 @@
+package home.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import home.models.AbstractVehicle;
+import home.models.Car;
+
+final class NumberPrefixIndexTest {
+
+    @Test
+    void findByPrefixTest() {
+        var index = new NumberPrefixIndex();
+        index.rebuild(createDataObjs("AB12", "AB13", "A", "ab12", "B7", "AC"));
+
+        assertArrayEquals(new int[]{0, 1, 2, 3, 5}, index.findByPrefix("a"));
+        assertArrayEquals(new int[]{0, 1, 3}, index.findByPrefix("AB"));
+        assertArrayEquals(new int[]{0, 1, 3}, index.findByPrefix("AB1"));
+        assertArrayEquals(new int[]{0, 3}, index.findByPrefix(" ab12 "));
+        assertArrayEquals(new int[0], index.findByPrefix("AB123"));
+        assertArrayEquals(new int[0], index.findByPrefix("C"));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5}, index.findByPrefix(""));
+
+        assertEquals(5, index.countByPrefix("A"));
+        assertEquals(0, index.countByPrefix("AB123"));
+        // in order of the numbers: A, AB12, AB12, AB13, AC
+        assertArrayEquals(new int[]{2, 0, 3}, index.findByPrefix("A", 3));
+    }
+
+    @Test
+    void updateTest() {
+        var index = new NumberPrefixIndex();
+        List<AbstractVehicle> dataObjs = createDataObjs("AB12", "AB13");
+        index.rebuild(dataObjs);
+
+        AbstractVehicle editedDataObj = dataObjs.get(0).copy();
+        editedDataObj.setNumber("X1");
+        index.update(0, dataObjs.get(0), editedDataObj);
+
+        assertArrayEquals(new int[]{1}, index.findByPrefix("AB"));
+        assertArrayEquals(new int[]{0}, index.findByPrefix("X"));
+        assertEquals(1, index.countByPrefix("AB"));
+        assertEquals(2, index.countByPrefix(""));
+    }
+
+    private List<AbstractVehicle> createDataObjs(String... numbers) {
+        var dataObjs = new ArrayList<AbstractVehicle>();
+        for (String number : numbers) {
+            var car = new Car();
+            car.setNumber(number);
+            dataObjs.add(car);
+        }
+        return dataObjs;
+    }
+}
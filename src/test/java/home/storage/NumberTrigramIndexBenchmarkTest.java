@@ -0,0 +1,93 @@
+package home.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import home.BenchmarkUtils;
+import home.models.AbstractVehicle;
+import home.models.Car;
+
+/**
+ * Typo-tolerant search over 500k plates: trigram index vs full scan with edit distance.
+ * <p>
+ * Run: mvn test -P benchmark
+ */
+@Tag("benchmark")
+final class NumberTrigramIndexBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NumberTrigramIndexBenchmarkTest.class);
+
+    private static final int PLATES_COUNT = 500_000;
+    private static final String LETTERS = "ABCEHKMOPTXY";
+    private static final int SEARCHES = 1_000;
+    private static final int MAX_DISTANCE = 1;
+    private static final int LIMIT = 10;
+
+    @Test
+    void searchTest() {
+        var random = new Random(42);
+        var dataObjs = new ArrayList<AbstractVehicle>(PLATES_COUNT);
+        for (int i = 0; i < PLATES_COUNT; i++) {
+            var car = new Car();
+            car.setNumber(createPlate(random));
+            dataObjs.add(car);
+        }
+
+        var index = new NumberTrigramIndex();
+        long start = System.nanoTime();
+        index.rebuild(dataObjs);
+        LOG.info("Index of {} plates is built in {} ms", PLATES_COUNT, BenchmarkUtils.msSince(start));
+
+        // plates with one wrong char
+        var typedPlates = new ArrayList<String>(SEARCHES);
+        for (int i = 0; i < SEARCHES; i++) {
+            char[] plate = dataObjs.get(random.nextInt(PLATES_COUNT)).getNumber().toCharArray();
+            plate[1 + random.nextInt(3)] = (char) ('0' + random.nextInt(10));
+            typedPlates.add(new String(plate));
+        }
+
+        start = System.nanoTime();
+        for (String typedPlate : typedPlates) {
+            index.findSimilar(typedPlate, MAX_DISTANCE, LIMIT);
+        }
+        LOG.info("Index: {} searches, {} us per search", SEARCHES, BenchmarkUtils.usSince(start) / SEARCHES);
+
+        start = System.nanoTime();
+        int scanSearches = SEARCHES / 10;
+        for (int i = 0; i < scanSearches; i++) {
+            int foundCount = scan(dataObjs, typedPlates.get(i));
+            assertEquals(foundCount, index.findSimilar(typedPlates.get(i), MAX_DISTANCE, PLATES_COUNT).length);
+        }
+        LOG.info("Full scan: {} searches, {} us per search", scanSearches,
+                BenchmarkUtils.usSince(start) / scanSearches);
+    }
+
+    private int scan(List<AbstractVehicle> dataObjs, String typedPlate) {
+        int foundCount = 0;
+        for (AbstractVehicle dataObj : dataObjs) {
+            if (NumberTrigramIndex.editDistance(typedPlate, dataObj.getNumber(), MAX_DISTANCE) <= MAX_DISTANCE) {
+                foundCount++;
+            }
+        }
+        return foundCount;
+    }
+
+    // plate like A123BC77
+    private String createPlate(Random random) {
+        var sb = new StringBuilder();
+        sb.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        sb.append(100 + random.nextInt(900));
+        sb.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        sb.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        sb.append(10 + random.nextInt(90));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package home.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import home.models.AbstractVehicle;
+import home.models.Car;
+
+final class NumberTrigramIndexTest {
+
+    @Test
+    void findSimilarTest() {
+        var index = new NumberTrigramIndex();
+        index.rebuild(createDataObjs("A123BC77", "A128BC77", "A123BC", "X999XX99", "a123bc77"));
+
+        assertArrayEquals(new int[]{0, 4, 1}, index.findSimilar("A123BC77", 1, 10));
+        assertArrayEquals(new int[]{0, 4}, index.findSimilar("A123BC77", 1, 2));
+        assertArrayEquals(new int[]{0, 4, 1, 2}, index.findSimilar("A123BC77", 2, 10));
+        // one char is lost
+        assertArrayEquals(new int[]{0, 4}, index.findSimilar("A23BC77", 1, 10));
+        assertArrayEquals(new int[0], index.findSimilar("B555KK55", 1, 10));
+        // short number: all rows are checked
+        assertArrayEquals(new int[]{2}, index.findSimilar("A1", 4, 10));
+    }
+
+    @Test
+    void updateTest() {
+        var index = new NumberTrigramIndex();
+        List<AbstractVehicle> dataObjs = createDataObjs("A123BC77", "X999XX99");
+        index.rebuild(dataObjs);
+
+        AbstractVehicle editedDataObj = dataObjs.get(1).copy();
+        editedDataObj.setNumber("A123BC78");
+        index.update(1, dataObjs.get(1), editedDataObj);
+
+        assertArrayEquals(new int[]{0, 1}, index.findSimilar("A123BC77", 1, 10));
+        assertArrayEquals(new int[0], index.findSimilar("X999XX99", 1, 10));
+    }
+
+    @Test
+    void editDistanceTest() {
+        assertEquals(0, NumberTrigramIndex.editDistance("A1", "A1", 2));
+        assertEquals(1, NumberTrigramIndex.editDistance("A1", "A12", 2));
+        assertEquals(2, NumberTrigramIndex.editDistance("AB12", "BA12", 2));
+        assertEquals(2, NumberTrigramIndex.editDistance("A", "ABCD", 1));
+    }
+
+    private List<AbstractVehicle> createDataObjs(String... numbers) {
+        var dataObjs = new ArrayList<AbstractVehicle>();
+        for (String number : numbers) {
+            var car = new Car();
+            car.setNumber(number);
+            dataObjs.add(car);
+        }
+        return dataObjs;
+    }
+}
@@ -0,0 +1,89 @@
+package home.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import home.models.AbstractVehicle;
+import home.models.Car;
+
+final class PagedVehicleListTest {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_PAGES = 2;
+
+    @Test
+    void readTest() {
+        // ids with gaps: 2, 4, 6 ...
+        var reader = new TestPageReader(95);
+        var dataObjs = new PagedVehicleList(95, PAGE_SIZE, MAX_PAGES, reader);
+
+        assertEquals(2, dataObjs.get(0).getId());
+        assertEquals(22, dataObjs.get(10).getId());
+        assertEquals(List.of("after 0", "after 20"), reader.requests);
+
+        // jump to the end, id before the page is unknown
+        assertEquals(190, dataObjs.get(94).getId());
+        assertEquals("at 90", reader.requests.get(2));
+        assertEquals(MAX_PAGES, dataObjs.getLoadedPagesCount());
+
+        // the first page was evicted, the second one is in memory
+        assertEquals(24, dataObjs.get(11).getId());
+        assertEquals(2, dataObjs.get(0).getId());
+        assertEquals(List.of("after 0", "after 20", "at 90", "after 0"), reader.requests);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> dataObjs.get(95));
+    }
+
+    @Test
+    void readErrorTest() {
+        var dataObjs = new PagedVehicleList(5, PAGE_SIZE, MAX_PAGES, new IPageReader<Exception>() {
+            @Override
+            public List<AbstractVehicle> readPage(long afterId, int limit) throws Exception {
+                throw new Exception("read error");
+            }
+
+            @Override
+            public List<AbstractVehicle> readPageAt(long offset, int limit) throws Exception {
+                throw new Exception("read error");
+            }
+        });
+        assertThrows(IllegalStateException.class, () -> dataObjs.get(0));
+    }
+
+    private static final class TestPageReader implements IPageReader<RuntimeException> {
+
+        private final int count;
+        private final List<String> requests = new ArrayList<>();
+
+        private TestPageReader(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public List<AbstractVehicle> readPage(long afterId, int limit) {
+            requests.add("after " + afterId);
+            return createPage((int) afterId / 2, limit);
+        }
+
+        @Override
+        public List<AbstractVehicle> readPageAt(long offset, int limit) {
+            requests.add("at " + offset);
+            return createPage((int) offset, limit);
+        }
+
+        private List<AbstractVehicle> createPage(int offset, int limit) {
+            var page = new ArrayList<AbstractVehicle>();
+            for (int i = offset; i < Math.min(offset + limit, count); i++) {
+                var car = new Car();
+                car.setId(2L * (i + 1));
+                page.add(car);
+            }
+            return page;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package home.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+final class RowBitmapTest {
+
+    @Test
+    void addRemoveTest() {
+        var bitmap = new RowBitmap();
+        // dense chunk (bitmap container) and sparse chunks (array containers)
+        for (int row = 0; row < 10_000; row++) {
+            bitmap.add(row);
+        }
+        bitmap.add(70_000);
+        bitmap.add(200_000);
+
+        assertEquals(10_002, bitmap.cardinality());
+        assertTrue(bitmap.contains(9_999));
+        assertTrue(bitmap.contains(200_000));
+        assertFalse(bitmap.contains(10_000));
+
+        for (int row = 0; row < 10_000; row += 2) {
+            bitmap.remove(row);
+        }
+        bitmap.remove(70_000);
+        assertEquals(5_001, bitmap.cardinality());
+        assertFalse(bitmap.contains(70_000));
+        assertEquals(1, bitmap.toArray()[0]);
+        assertEquals(200_000, bitmap.toArray()[5_000]);
+    }
+
+    @Test
+    void addRemoveAtMaxArrayCardinalityTest() {
+        var bitmap = new RowBitmap();
+        for (int row = 0; row <= 4_096; row++) {
+            bitmap.add(row);
+        }
+        // the row of the max cardinality is added and removed again and again
+        for (int i = 0; i < 10; i++) {
+            bitmap.remove(4_096);
+            bitmap.add(4_096);
+        }
+        assertEquals(4_097, bitmap.cardinality());
+
+        for (int row = 4_096; row >= 100; row--) {
+            bitmap.remove(row);
+        }
+        assertEquals(100, bitmap.cardinality());
+        assertTrue(bitmap.contains(99));
+        assertFalse(bitmap.contains(100));
+        assertEquals(99, bitmap.toArray()[99]);
+    }
+
+    @Test
+    void operationsTest() {
+        var random = new Random(42);
+        var firstBitmap = new RowBitmap();
+        var secondBitmap = new RowBitmap();
+        var firstBitSet = new BitSet();
+        var secondBitSet = new BitSet();
+        for (int i = 0; i < 50_000; i++) {
+            int firstRow = random.nextInt(300_000);
+            int secondRow = random.nextInt(100_000);
+            firstBitmap.add(firstRow);
+            firstBitSet.set(firstRow);
+            secondBitmap.add(secondRow);
+            secondBitSet.set(secondRow);
+        }
+
+        BitSet expected = (BitSet) firstBitSet.clone();
+        expected.and(secondBitSet);
+        assertArrayEquals(expected.stream().toArray(), firstBitmap.and(secondBitmap).toArray());
+
+        expected = (BitSet) firstBitSet.clone();
+        expected.or(secondBitSet);
+        assertArrayEquals(expected.stream().toArray(), firstBitmap.or(secondBitmap).toArray());
+
+        expected = (BitSet) firstBitSet.clone();
+        expected.andNot(secondBitSet);
+        assertArrayEquals(expected.stream().toArray(), firstBitmap.andNot(secondBitmap).toArray());
+        assertEquals(firstBitSet.cardinality(), firstBitmap.cardinality());
+    }
+}
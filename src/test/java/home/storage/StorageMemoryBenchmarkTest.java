@@ -0,0 +1,85 @@
+package home.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import home.Storage;
+import home.models.AbstractVehicle;
+import home.models.Car;
+import home.models.Motorcycle;
+import home.models.Truck;
+
+/**
+ * Compares retained heap of one million vehicles in the storage: data objects (object per row
+ * with the indexes) and the columnar mode.
+ * <p>
+ * Run: mvn test -P benchmark
+ */
+@Tag("benchmark")
+final class StorageMemoryBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StorageMemoryBenchmarkTest.class);
+
+    private static final int ROWS = 1_000_000;
+    private static final String[] COLORS = {"red", "black", "white", "green", "blue", "silver"};
+
+    @Test
+    void memoryFootprintTest() {
+        long baseline = usedHeap();
+        Storage.INSTANCE.initDataObjs(this::readDataObjs);
+        long objectsHeap = usedHeap() - baseline;
+        Storage.INSTANCE.initDataObjs(Collections.emptyList());
+
+        baseline = usedHeap();
+        Storage.INSTANCE.initColumnar(ROWS, this::readDataObjs);
+        long columnarHeap = usedHeap() - baseline;
+        assertEquals(ROWS, Storage.INSTANCE.getTableRows().size());
+
+        LOG.info("{} rows: data objects with indexes {} MB, columnar {} MB",
+                ROWS, toMb(objectsHeap), toMb(columnarHeap));
+        assertTrue(columnarHeap < objectsHeap, "Columnar mode must take less heap than data objects.");
+    }
+
+    @AfterEach
+    void cleanStorage() {
+        Storage.INSTANCE.initDataObjs(Collections.emptyList());
+    }
+
+    // data objects are created one by one as they are read from the DB
+    private void readDataObjs(Consumer<AbstractVehicle> consumer) {
+        long dateTime = System.currentTimeMillis();
+        for (int i = 0; i < ROWS; i++) {
+            AbstractVehicle dataObj = switch (i % 3) {
+                case 0 -> new Car();
+                case 1 -> new Truck();
+                default -> new Motorcycle();
+            };
+            dataObj.setId(i + 1);
+            dataObj.setColor(COLORS[i % COLORS.length]);
+            dataObj.setNumber(Integer.toString(i));
+            dataObj.setDateTime(dateTime - i * 1_000L);
+            consumer.accept(dataObj);
+        }
+    }
+
+    private long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private long toMb(long bytes) {
+        return bytes / (1024 * 1024);
+    }
+}
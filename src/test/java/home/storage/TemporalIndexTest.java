@@ -0,0 +1,82 @@
+package home.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import home.models.AbstractVehicle;
+import home.models.Car;
+
+final class TemporalIndexTest {
+
+    // Friday
+    private static final LocalDateTime DATE_TIME = LocalDateTime.of(2023, 3, 31, 12, 0);
+
+    @Test
+    void findTest() {
+        var index = new TemporalIndex();
+        // not in order of date time
+        List<AbstractVehicle> dataObjs = createDataObjs(3, 0, 1, 1, 40);
+        index.rebuild(dataObjs);
+
+        assertArrayEquals(new int[]{1, 2, 3}, index.findBetween(toMillis(0), toMillis(1)));
+        assertArrayEquals(new int[]{2, 3, 0}, index.findBetween(toMillis(1), toMillis(3)));
+        assertArrayEquals(new int[0], index.findBetween(toMillis(4), toMillis(39)));
+        assertArrayEquals(new int[]{4, 0}, index.findLatest(2));
+        assertArrayEquals(new int[]{4, 0, 3, 2, 1}, index.findLatest(10));
+
+        index.add(5, createDataObj(2));
+        AbstractVehicle editedDataObj = dataObjs.get(4).copy();
+        editedDataObj.setDateTime(toMillis(-1));
+        index.update(4, dataObjs.get(4), editedDataObj);
+
+        assertArrayEquals(new int[]{4, 1, 2, 3, 5, 0}, index.findBetween(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void forEachBucketTest() {
+        var index = new TemporalIndex();
+        index.rebuild(createDataObjs(0, 1, 3, 4, 40));
+
+        Map<LocalDate, int[]> buckets = new LinkedHashMap<>();
+        index.forEachBucket(Long.MIN_VALUE, Long.MAX_VALUE, TimeBucket.MONTH, ZoneOffset.UTC, buckets::put);
+        assertEquals(List.of(LocalDate.of(2023, 3, 1), LocalDate.of(2023, 4, 1), LocalDate.of(2023, 5, 1)),
+                new ArrayList<>(buckets.keySet()));
+        assertArrayEquals(new int[]{0}, buckets.get(LocalDate.of(2023, 3, 1)));
+        assertArrayEquals(new int[]{1, 2, 3}, buckets.get(LocalDate.of(2023, 4, 1)));
+
+        buckets.clear();
+        index.forEachBucket(toMillis(0), toMillis(4), TimeBucket.WEEK, ZoneOffset.UTC, buckets::put);
+        assertEquals(List.of(LocalDate.of(2023, 3, 27), LocalDate.of(2023, 4, 3)),
+                new ArrayList<>(buckets.keySet()));
+        assertArrayEquals(new int[]{0, 1}, buckets.get(LocalDate.of(2023, 3, 27)));
+        assertArrayEquals(new int[]{2, 3}, buckets.get(LocalDate.of(2023, 4, 3)));
+    }
+
+    private List<AbstractVehicle> createDataObjs(int... days) {
+        var dataObjs = new ArrayList<AbstractVehicle>();
+        for (int day : days) {
+            dataObjs.add(createDataObj(day));
+        }
+        return dataObjs;
+    }
+
+    private AbstractVehicle createDataObj(int day) {
+        var car = new Car();
+        car.setDateTime(toMillis(day));
+        return car;
+    }
+
+    private long toMillis(int day) {
+        return DATE_TIME.plusDays(day).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,69 @@
+package home.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import home.models.AbstractVehicle;
+import home.models.Car;
+import home.models.Motorcycle;
+import home.models.Truck;
+import home.models.VehicleType;
+
+final class VehicleQueryTest {
+
+    private static final long DATE_TIME = 1_663_679_739_000L;
+
+    @Test
+    void findRowsTest() {
+        List<AbstractVehicle> dataObjs = createDataObjs(12);
+
+        assertArrayEquals(IntStream.range(0, 12).toArray(),
+                VehicleQuery.builder().build().findRows(dataObjs));
+        assertArrayEquals(new int[]{1, 7},
+                VehicleQuery.builder().type(VehicleType.TRUCK).hasTrailer(true).build().findRows(dataObjs));
+        assertArrayEquals(new int[]{4, 5, 6},
+                VehicleQuery.builder().dateTimeBetween(DATE_TIME + 4, DATE_TIME + 6).build().findRows(dataObjs));
+        assertArrayEquals(new int[]{2},
+                VehicleQuery.builder().type(VehicleType.MOTORCYCLE).color("red").number("2")
+                        .hasCradle(false).build().findRows(dataObjs));
+    }
+
+    @Test
+    void parallelFindRowsTest() {
+        List<AbstractVehicle> dataObjs = createDataObjs(VehicleQuery.PARALLEL_THRESHOLD * 2);
+        VehicleQuery query = VehicleQuery.builder().type(VehicleType.CAR).transportsPassengers(true).build();
+
+        int[] expected = IntStream.range(0, dataObjs.size()).filter(row -> row % 6 == 0).toArray();
+        assertArrayEquals(expected, query.findRows(dataObjs));
+    }
+
+    // rows: car, truck, motorcycle, ...; trailer in each second row, red color in each fourth row
+    private List<AbstractVehicle> createDataObjs(int count) {
+        var dataObjs = new ArrayList<AbstractVehicle>(count);
+        for (int i = 0; i < count; i++) {
+            AbstractVehicle dataObj = switch (i % 3) {
+                case 0 -> {
+                    var car = new Car();
+                    car.setTransportsPassengers(i % 2 == 0);
+                    yield car;
+                }
+                case 1 -> {
+                    var truck = new Truck();
+                    truck.setHasTrailer(i % 2 == 1);
+                    yield truck;
+                }
+                default -> new Motorcycle();
+            };
+            dataObj.setColor(i % 4 == 2 ? "red" : "black");
+            dataObj.setNumber(Integer.toString(i));
+            dataObj.setDateTime(DATE_TIME + i);
+            dataObjs.add(dataObj);
+        }
+        return dataObjs;
+    }
+}
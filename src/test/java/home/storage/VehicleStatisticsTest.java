@@ -0,0 +1,58 @@
+package home.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import home.models.AbstractVehicle;
+import home.models.Motorcycle;
+import home.models.Truck;
+import home.models.VehicleType;
+
+final class VehicleStatisticsTest {
+
+    @Test
+    void changeCountersTest() {
+        var statistics = new VehicleStatistics(ZoneOffset.UTC);
+        var truck = new Truck();
+        truck.setHasTrailer(true);
+        fill(truck, "red", LocalDateTime.of(2023, 1, 31, 23, 59));
+        var motorcycle = new Motorcycle();
+        motorcycle.setHasCradle(true);
+        fill(motorcycle, "red", LocalDateTime.of(2023, 2, 1, 0, 0));
+
+        statistics.add(truck);
+        statistics.add(motorcycle);
+        assertEquals(2, statistics.getCount());
+        assertEquals(1, statistics.getCount(VehicleType.TRUCK));
+        assertEquals(1, statistics.getTrailersCount());
+        assertEquals(1, statistics.getCradlesCount());
+        assertEquals(Map.of("red", 2), statistics.getCountsByColor());
+        assertEquals(1, statistics.getCountByMonth(YearMonth.of(2023, 1)));
+        assertEquals(1, statistics.getCountByMonth(YearMonth.of(2023, 2)));
+
+        AbstractVehicle editedTruck = truck.copy();
+        ((Truck) editedTruck).setHasTrailer(false);
+        editedTruck.setColor("black");
+        statistics.update(truck, editedTruck);
+        statistics.remove(motorcycle);
+
+        assertEquals(1, statistics.getCount());
+        assertEquals(0, statistics.getCount(VehicleType.MOTORCYCLE));
+        assertEquals(0, statistics.getTrailersCount());
+        assertEquals(0, statistics.getCradlesCount());
+        assertEquals(Map.of("black", 1), statistics.getCountsByColor());
+        assertEquals(Map.of(YearMonth.of(2023, 1), 1), statistics.getCountsByMonth());
+    }
+
+    private void fill(AbstractVehicle dataObj, String color, LocalDateTime dateTime) {
+        dataObj.setColor(color);
+        dataObj.setNumber("A1");
+        dataObj.setDateTime(dateTime.toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+}
@@ -0,0 +1,118 @@
+package home.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import home.models.AbstractVehicle;
+import home.models.Car;
+
+final class VehicleStoreTest {
+
+    @Test
+    void addGetSetTest() {
+        var store = new VehicleStore();
+        List<AbstractVehicle> dataObjs = createDataObjs(100);
+        dataObjs.forEach(store::add);
+
+        assertEquals(dataObjs.size(), store.size());
+        for (int row = 0; row < dataObjs.size(); row++) {
+            assertSame(dataObjs.get(row), store.get(row));
+        }
+
+        var newDataObj = new Car();
+        assertSame(dataObjs.get(10), store.set(10, newDataObj));
+        assertSame(newDataObj, store.get(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(100));
+    }
+
+    @Test
+    void snapshotTest() {
+        var store = new VehicleStore();
+        List<AbstractVehicle> dataObjs = createDataObjs(10);
+        store.addAll(dataObjs);
+
+        List<AbstractVehicle> snapshot = store.snapshot();
+        store.set(0, new Car());
+        store.add(new Car());
+        store.markGap(5);
+        store.compactGaps();
+
+        assertEquals(dataObjs, snapshot);
+        assertEquals(10, store.size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.set(0, new Car()));
+
+        List<AbstractVehicle> nextSnapshot = store.snapshot();
+        store.clear();
+        assertEquals(dataObjs, snapshot);
+        assertEquals(10, nextSnapshot.size());
+    }
+
+    @Test
+    void compactGapsTest() {
+        var store = new VehicleStore();
+        List<AbstractVehicle> dataObjs = createDataObjs(10);
+        store.addAll(dataObjs);
+
+        store.markGap(0);
+        store.markGap(4);
+        store.markGap(4);
+        store.markGap(9);
+        assertTrue(store.hasGaps());
+        assertNull(store.get(4));
+
+        assertEquals(3, store.compactGaps());
+        assertFalse(store.hasGaps());
+
+        var expected = new ArrayList<>(dataObjs);
+        expected.remove(9);
+        expected.remove(4);
+        expected.remove(0);
+        assertEquals(expected, store);
+    }
+
+    @Test
+    void removeTest() {
+        var store = new VehicleStore();
+        List<AbstractVehicle> dataObjs = createDataObjs(10);
+        store.addAll(dataObjs);
+
+        store.removeAll(List.of(dataObjs.get(0), dataObjs.get(5)));
+        assertSame(dataObjs.get(9), store.remove(7));
+
+        var expected = new ArrayList<>(dataObjs.subList(1, 9));
+        expected.remove(4);
+        assertEquals(expected, store);
+    }
+
+    @Test
+    void clearTest() {
+        var store = new VehicleStore();
+        store.addAll(createDataObjs(10));
+        store.markGap(3);
+        store.clear();
+
+        assertTrue(store.isEmpty());
+        assertFalse(store.hasGaps());
+        assertEquals(0, store.compactGaps());
+    }
+
+    private List<AbstractVehicle> createDataObjs(int count) {
+        var dataObjs = new ArrayList<AbstractVehicle>(count);
+        for (int i = 0; i < count; i++) {
+            var car = new Car();
+            car.setId(i + 1);
+            car.setNumber(Integer.toString(i));
+            dataObjs.add(car);
+        }
+        return dataObjs;
+    }
+}
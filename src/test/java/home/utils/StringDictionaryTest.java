@@ -0,0 +1,35 @@
+package home.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+final class StringDictionaryTest {
+
+    @Test
+    void internTest() {
+        var dictionary = new StringDictionary("test", 10);
+        String red = dictionary.intern(new String("red"));
+
+        assertSame(red, dictionary.intern(new String("red")));
+        assertNull(dictionary.intern(null));
+        assertEquals(1, dictionary.getHits());
+        assertEquals(1, dictionary.getMisses());
+        assertEquals(1, dictionary.size());
+    }
+
+    @Test
+    void boundedSizeTest() {
+        var dictionary = new StringDictionary("test", 1);
+        dictionary.intern("red");
+
+        String black = new String("black");
+        assertSame(black, dictionary.intern(black));
+        assertNotSame(black, dictionary.intern(new String("black")));
+        assertEquals(1, dictionary.size());
+        assertEquals(3, dictionary.getMisses());
+    }
+}